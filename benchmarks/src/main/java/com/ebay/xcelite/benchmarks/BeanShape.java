@@ -0,0 +1,123 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Shapes of the benchmarked beans. Data sets are generated from a fixed seed,
+ * so that every run, and every xcelite version, works on the same data.
+ *
+ * @since 1.0.6
+ */
+public enum BeanShape {
+
+    NARROW(NarrowBean.class) {
+        @Override
+        BenchmarkBean create(int id, Random random) {
+            return new NarrowBean(id, random);
+        }
+    },
+    WIDE(WideBean.class) {
+        @Override
+        BenchmarkBean create(int id, Random random) {
+            return new WideBean(id, random);
+        }
+    },
+    CONVERTED(ConvertedBean.class) {
+        @Override
+        BenchmarkBean create(int id, Random random) {
+            return new ConvertedBean(id, random);
+        }
+    };
+
+    private static final long SEED = 42;
+    private static final long FIRST_DATE = 1388534400000L;
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+    private static final char[] LETTERS = "abcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    private final Class<? extends BenchmarkBean> type;
+
+    BeanShape(Class<? extends BenchmarkBean> type) {
+        this.type = type;
+    }
+
+    abstract BenchmarkBean create(int id, Random random);
+
+    @SuppressWarnings("unchecked")
+    Class<Object> getType() {
+        return (Class<Object>) (Class<?>) type;
+    }
+
+    /**
+     * Generates the beans of a data set.
+     *
+     * @param rows the number of beans
+     * @return the beans
+     */
+    List<Object> generate(int rows) {
+        Random random = new Random(SEED);
+        List<Object> beans = new ArrayList<Object>(rows);
+        for (int i = 0; i < rows; i++) {
+            beans.add(create(i, random));
+        }
+        return beans;
+    }
+
+    /**
+     * Generates the beans of a data set in which every n-th bean differs from
+     * the one generated by {@link #generate(int)}.
+     *
+     * @param rows  the number of beans
+     * @param every the distance between two changed beans
+     * @return the beans
+     */
+    List<Object> generateChanged(int rows, int every) {
+        List<Object> beans = generate(rows);
+        Random random = new Random(SEED + 1);
+        for (int i = 0; i < rows; i += every) {
+            beans.set(i, create(i, random));
+        }
+        return beans;
+    }
+
+    /**
+     * Converts beans to the rows written by the simple writer.
+     */
+    static List<Collection<Object>> toRows(List<Object> beans) {
+        List<Collection<Object>> rows = new ArrayList<Collection<Object>>(beans.size());
+        for (Object bean : beans) {
+            rows.add(((BenchmarkBean) bean).values());
+        }
+        return rows;
+    }
+
+    static Date date(Random random) {
+        return new Date(FIRST_DATE + random.nextInt(3650) * DAY);
+    }
+
+    static String word(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = LETTERS[random.nextInt(LETTERS.length)];
+        }
+        return new String(chars);
+    }
+}
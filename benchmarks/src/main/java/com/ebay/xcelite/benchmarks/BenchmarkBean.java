@@ -0,0 +1,33 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.benchmarks;
+
+import java.util.List;
+
+/**
+ * Bean written and read by the benchmarks.
+ *
+ * @since 1.0.6
+ */
+public interface BenchmarkBean {
+
+    /**
+     * Gets the column values of the bean, as written by the simple writer.
+     *
+     * @return the column values
+     */
+    List<Object> values();
+}
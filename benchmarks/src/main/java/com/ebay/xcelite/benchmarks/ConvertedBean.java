@@ -0,0 +1,79 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.benchmarks;
+
+import com.ebay.xcelite.annotations.Column;
+import com.ebay.xcelite.converters.CSVColumnValueConverter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Bean whose list columns are written and read through converters.
+ *
+ * @since 1.0.6
+ */
+public class ConvertedBean implements BenchmarkBean {
+
+    @Column
+    private long id;
+    @Column
+    private String name;
+    @Column(converter = CSVColumnValueConverter.class)
+    private List<String> tags;
+    @Column(converter = CSVColumnValueConverter.class)
+    private List<String> aliases;
+
+    public ConvertedBean() {
+    }
+
+    ConvertedBean(int id, Random random) {
+        this.id = id;
+        name = BeanShape.word(random, 10);
+        tags = words(random, 1 + random.nextInt(5));
+        aliases = words(random, 1 + random.nextInt(3));
+    }
+
+    private static List<String> words(Random random, int count) {
+        List<String> words = new ArrayList<String>(count);
+        for (int i = 0; i < count; i++) {
+            words.add(BeanShape.word(random, 6));
+        }
+        return words;
+    }
+
+    @Override
+    public List<Object> values() {
+        return Arrays.<Object>asList(id, name, String.join(",", tags), String.join(",", aliases));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ConvertedBean)) return false;
+        ConvertedBean that = (ConvertedBean) o;
+        return id == that.id && Objects.equals(name, that.name) && Objects.equals(tags, that.tags)
+                && Objects.equals(aliases, that.aliases);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, tags, aliases);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.benchmarks;
+
+import com.ebay.xcelite.Xcelite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing and reading beans whose columns go through converters, see
+ * {@link ConvertedBean}.
+ *
+ * @since 1.0.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ConverterBenchmark {
+
+    private static final BeanShape SHAPE = BeanShape.CONVERTED;
+
+    @Param({"HSSF", "XSSF"})
+    private WorkbookFormat type;
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    private List<Object> beans;
+    private Xcelite xcelite;
+    private int sheets;
+
+    @Setup
+    public void setUp() {
+        beans = SHAPE.generate(rows);
+        xcelite = Workbooks.reload(type, Workbooks.writeBeans(type, SHAPE, beans));
+        sheets = Workbooks.getSheetCount(type, rows);
+    }
+
+    @Benchmark
+    public Xcelite convertedWrite() {
+        return Workbooks.writeBeans(type, SHAPE, beans);
+    }
+
+    @Benchmark
+    public void convertedRead(Blackhole blackhole) {
+        for (int i = 0; i < sheets; i++) {
+            blackhole.consume(xcelite.getSheet(i).getBeanReader(SHAPE.getType()).read());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.benchmarks;
+
+import com.ebay.xcelite.annotations.Column;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Bean of a few columns of the common types.
+ *
+ * @since 1.0.6
+ */
+public class NarrowBean implements BenchmarkBean {
+
+    @Column
+    private long id;
+    @Column
+    private String name;
+    @Column
+    private double amount;
+    @Column
+    private Date created;
+
+    public NarrowBean() {
+    }
+
+    NarrowBean(int id, Random random) {
+        this.id = id;
+        name = "name-" + random.nextInt(100000);
+        amount = random.nextInt(10000000) / 100.0;
+        created = BeanShape.date(random);
+    }
+
+    @Override
+    public List<Object> values() {
+        return Arrays.<Object>asList(id, name, amount, created);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NarrowBean)) return false;
+        NarrowBean that = (NarrowBean) o;
+        return id == that.id && Double.compare(that.amount, amount) == 0 && Objects.equals(name, that.name)
+                && Objects.equals(created, that.created);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, amount, created);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.benchmarks;
+
+import com.ebay.xcelite.annotations.Column;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Bean of two dozen columns, as found in typical exports.
+ *
+ * @since 1.0.6
+ */
+public class WideBean implements BenchmarkBean {
+
+    @Column
+    private long id;
+    @Column
+    private String firstName;
+    @Column
+    private String lastName;
+    @Column
+    private String email;
+    @Column
+    private String phone;
+    @Column
+    private String street;
+    @Column
+    private String city;
+    @Column
+    private String country;
+    @Column
+    private String comment;
+    @Column
+    private int age;
+    @Column
+    private int orders;
+    @Column
+    private int visits;
+    @Column
+    private long accountId;
+    @Column
+    private long referrerId;
+    @Column
+    private double balance;
+    @Column
+    private double credit;
+    @Column
+    private double discount;
+    @Column
+    private double rating;
+    @Column
+    private Double tax;
+    @Column
+    private boolean active;
+    @Column
+    private boolean verified;
+    @Column
+    private Date created;
+    @Column
+    private Date updated;
+
+    public WideBean() {
+    }
+
+    WideBean(int id, Random random) {
+        this.id = id;
+        firstName = BeanShape.word(random, 8);
+        lastName = BeanShape.word(random, 10);
+        email = firstName + "." + lastName + "@example.com";
+        phone = String.valueOf(1000000000L + random.nextInt(900000000));
+        street = random.nextInt(1000) + " " + BeanShape.word(random, 12) + " street";
+        city = BeanShape.word(random, 9);
+        country = BeanShape.word(random, 6);
+        comment = BeanShape.word(random, 40);
+        age = 18 + random.nextInt(70);
+        orders = random.nextInt(500);
+        visits = random.nextInt(100000);
+        accountId = random.nextInt(Integer.MAX_VALUE);
+        referrerId = random.nextInt(Integer.MAX_VALUE);
+        balance = random.nextInt(100000000) / 100.0;
+        credit = random.nextInt(1000000) / 100.0;
+        discount = random.nextInt(100) / 100.0;
+        rating = random.nextInt(50) / 10.0;
+        tax = random.nextInt(3000) / 100.0;
+        active = random.nextBoolean();
+        verified = random.nextBoolean();
+        created = BeanShape.date(random);
+        updated = BeanShape.date(random);
+    }
+
+    @Override
+    public List<Object> values() {
+        return Arrays.<Object>asList(id, firstName, lastName, email, phone, street, city, country, comment, age,
+                orders, visits, accountId, referrerId, balance, credit, discount, rating, tax, active, verified,
+                created, updated);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof WideBean)) return false;
+        return values().equals(((WideBean) o).values());
+    }
+
+    @Override
+    public int hashCode() {
+        return values().hashCode();
+    }
+}
@@ -0,0 +1,36 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.benchmarks;
+
+/**
+ * The workbook formats benchmarked. The benchmarks keep to their own enum
+ * rather than {@code WorkbookType}, so that they also build against xcelite
+ * versions which precede it.
+ *
+ * @since 1.0.6
+ */
+public enum WorkbookFormat {
+
+    /**
+     * The xls format.
+     */
+    HSSF,
+
+    /**
+     * The xlsx format.
+     */
+    XSSF
+}
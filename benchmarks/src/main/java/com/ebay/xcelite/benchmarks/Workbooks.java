@@ -0,0 +1,114 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.benchmarks;
+
+import com.ebay.xcelite.Xcelite;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes benchmark data sets into workbooks. An xls sheet holds at most 65536
+ * rows, so larger data sets are spread over several sheets of an
+ * {@link WorkbookFormat#HSSF} workbook; the cost per row stays comparable with
+ * the single sheet of an xlsx workbook.
+ * <p/>
+ * Workbooks are only created and opened through the constructors every
+ * xcelite version has, {@code Xcelite()} and {@code Xcelite(File)}, so that
+ * the benchmarks can compare versions: an xlsx workbook is opened from an
+ * empty xlsx file.
+ *
+ * @since 1.0.6
+ */
+final class Workbooks {
+
+    private static final int XLS_SHEET_ROWS = 65535;
+
+    private static File xlsxTemplate;
+
+    private Workbooks() {
+    }
+
+    static int getSheetCount(WorkbookFormat format, int rows) {
+        int sheetRows = getSheetRows(format, rows);
+        return (rows + sheetRows - 1) / sheetRows;
+    }
+
+    private static int getSheetRows(WorkbookFormat format, int rows) {
+        return format == WorkbookFormat.HSSF ? Math.min(rows, XLS_SHEET_ROWS) : Math.max(rows, 1);
+    }
+
+    static Xcelite create(WorkbookFormat format) {
+        return format == WorkbookFormat.HSSF ? new Xcelite() : new Xcelite(getXlsxTemplate());
+    }
+
+    static Xcelite writeBeans(WorkbookFormat format, BeanShape shape, List<Object> beans) {
+        Xcelite xcelite = create(format);
+        int sheetRows = getSheetRows(format, beans.size());
+        for (int from = 0; from < beans.size(); from += sheetRows) {
+            xcelite.createSheet().getBeanWriter(shape.getType())
+                    .write(beans.subList(from, Math.min(from + sheetRows, beans.size())));
+        }
+        return xcelite;
+    }
+
+    static Xcelite writeRows(WorkbookFormat format, List<Collection<Object>> rows) {
+        Xcelite xcelite = create(format);
+        int sheetRows = getSheetRows(format, rows.size());
+        for (int from = 0; from < rows.size(); from += sheetRows) {
+            xcelite.createSheet().getSimpleWriter().write(rows.subList(from, Math.min(from + sheetRows, rows.size())));
+        }
+        return xcelite;
+    }
+
+    /**
+     * Saves and opens again a workbook, so that it is read the way a workbook
+     * loaded from a file is.
+     */
+    static Xcelite reload(WorkbookFormat format, Xcelite xcelite) {
+        File file = createTempFile(format);
+        xcelite.write(file);
+        return new Xcelite(file);
+    }
+
+    private static synchronized File getXlsxTemplate() {
+        if (xlsxTemplate == null) {
+            File file = createTempFile(WorkbookFormat.XSSF);
+            try (OutputStream out = new FileOutputStream(file)) {
+                new XSSFWorkbook().write(out);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            xlsxTemplate = file;
+        }
+        return xlsxTemplate;
+    }
+
+    private static File createTempFile(WorkbookFormat format) {
+        try {
+            File file = File.createTempFile("xcelite-benchmark", format == WorkbookFormat.HSSF ? ".xls" : ".xlsx");
+            file.deleteOnExit();
+            return file;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
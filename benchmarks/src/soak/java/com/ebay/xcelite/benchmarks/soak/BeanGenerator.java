@@ -0,0 +1,189 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.benchmarks.soak;
+
+import com.ebay.xcelite.column.Col;
+import com.ebay.xcelite.column.ColumnsSchema;
+import com.ebay.xcelite.column.FieldAccessor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Generates beans of any class annotated for xcelite, one at a time. Every
+ * {@link com.ebay.xcelite.annotations.Column Column} field of a type xcelite
+ * writes natively is filled with random values shaped by a
+ * {@link FixtureSpec}; fields with a converter are left empty.
+ *
+ * @since 1.0.6
+ */
+public class BeanGenerator<T> implements Iterator<T> {
+
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    private final Class<T> type;
+    private final FixtureSpec spec;
+    private final Random random;
+    private final List<FieldAccessor> accessors = new ArrayList<FieldAccessor>();
+    private final List<String> names = new ArrayList<String>();
+    private final FieldAccessor anyColumnAccessor;
+    @SuppressWarnings("rawtypes")
+    private final Class<? extends Map> anyColumnType;
+    private final String[] anyColumnNames;
+    private int row;
+
+    public BeanGenerator(Class<T> type, FixtureSpec spec) {
+        this.type = type;
+        this.spec = spec;
+        random = new Random(spec.getSeed());
+        ColumnsSchema schema = ColumnsSchema.of(type);
+        for (Col column : schema.getColumns()) {
+            FieldAccessor accessor = schema.getFieldsMapper().getColumnAccessor(column.getFieldName());
+            if (column.getConverter() == null && isGenerated(accessor.getType())) {
+                accessors.add(accessor);
+                names.add(column.getName());
+            }
+        }
+        int anyColumns = spec.getAnyColumns();
+        if (spec.getColumns() > 0) {
+            int declared = schema.getColumns().size();
+            anyColumns = spec.getColumns() - declared;
+            if (anyColumns < 0 || anyColumns > 0 && schema.getAnyColumnField() == null) {
+                throw new IllegalArgumentException(String.format("%s declares %s columns%s, it can't have %s columns",
+                        type.getName(), declared, schema.getAnyColumnField() == null ? " and no @AnyColumn" : "",
+                        spec.getColumns()));
+            }
+        }
+        if (schema.getAnyColumnField() != null) {
+            anyColumnAccessor = schema.getFieldsMapper().getColumnAccessor(schema.getAnyColumnField().getName());
+            anyColumnType = schema.getAnyColumnAnnotation().as();
+            anyColumnNames = new String[anyColumns];
+            for (int i = 0; i < anyColumnNames.length; i++) {
+                anyColumnNames[i] = "extra" + i;
+            }
+        } else {
+            anyColumnAccessor = null;
+            anyColumnType = null;
+            anyColumnNames = new String[0];
+        }
+    }
+
+    /**
+     * Gets the names of the generated dynamic columns, so a single pass write
+     * can declare them up front.
+     *
+     * @return the dynamic column names, null if the bean has no AnyColumn map
+     */
+    public String[] getAnyColumnNames() {
+        return anyColumnAccessor == null ? null : anyColumnNames.clone();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return row < spec.getRows();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        boolean complete = row == 0;
+        row++;
+        try {
+            T bean = type.newInstance();
+            for (int i = 0; i < accessors.size(); i++) {
+                if (complete || !isBlank()) {
+                    FieldAccessor accessor = accessors.get(i);
+                    accessor.set(bean, value(accessor.getType(), names.get(i)));
+                }
+            }
+            if (anyColumnAccessor != null) {
+                Map<String, Object> map = anyColumnType.newInstance();
+                for (String name : anyColumnNames) {
+                    if (complete || !isBlank()) {
+                        map.put(name, text(name));
+                    }
+                }
+                anyColumnAccessor.set(bean, map);
+            }
+            return bean;
+        } catch (InstantiationException e) {
+            throw new IllegalStateException(e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    private boolean isBlank() {
+        return spec.getSparsity() > 0 && random.nextDouble() < spec.getSparsity();
+    }
+
+    private String text(String column) {
+        return column + "-" + random.nextInt(Math.max(spec.getCardinality(), 1));
+    }
+
+    private static boolean isGenerated(Class<?> type) {
+        return type == String.class || type == Date.class || type == BigDecimal.class || type.isPrimitive()
+                || Number.class.isAssignableFrom(type) || type == Boolean.class || type == Character.class;
+    }
+
+    private Object value(Class<?> type, String column) {
+        if (type == String.class) {
+            return text(column);
+        }
+        if (type == Date.class) {
+            return new Date(spec.getFirstDate() + random.nextInt(Math.max(spec.getDateDays(), 1)) * DAY);
+        }
+        if (type == Double.class || type == double.class) {
+            return random.nextInt(100000000) / 100.0;
+        }
+        if (type == Float.class || type == float.class) {
+            return random.nextInt(100000) / 100f;
+        }
+        if (type == Long.class || type == long.class) {
+            return (long) random.nextInt(Integer.MAX_VALUE);
+        }
+        if (type == Integer.class || type == int.class) {
+            return random.nextInt(1000000);
+        }
+        if (type == Short.class || type == short.class) {
+            return (short) random.nextInt(Short.MAX_VALUE);
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return random.nextBoolean();
+        }
+        if (type == Character.class || type == char.class) {
+            return (char) ('a' + random.nextInt(26));
+        }
+        if (type == BigDecimal.class) {
+            return BigDecimal.valueOf(random.nextInt(100000000), 2);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.benchmarks.soak;
+
+/**
+ * Describes the data of a generated workbook. Values are drawn from a random
+ * generator seeded with {@link #getSeed()}, so a specification always yields
+ * the same workbook.
+ *
+ * @since 1.0.6
+ */
+public class FixtureSpec {
+
+    private static final long FIRST_DATE = 1388534400000L;
+
+    private int rows = 100000;
+    private int anyColumns;
+    private int columns;
+    private double sparsity;
+    private int cardinality = 1000;
+    private long firstDate = FIRST_DATE;
+    private int dateDays = 3650;
+    private long seed = 42;
+
+    /**
+     * Creates the specification of the command line options rows, anyColumns,
+     * columns, sparsity, cardinality, dateDays and seed.
+     */
+    static FixtureSpec of(Options options) {
+        FixtureSpec spec = new FixtureSpec();
+        spec.setRows(options.getInt("rows", spec.rows));
+        spec.setAnyColumns(options.getInt("anyColumns", spec.anyColumns));
+        spec.setColumns(options.getInt("columns", spec.columns));
+        spec.setSparsity(options.getDouble("sparsity", spec.sparsity));
+        spec.setCardinality(options.getInt("cardinality", spec.cardinality));
+        spec.setDateDays(options.getInt("dateDays", spec.dateDays));
+        spec.setSeed(options.getLong("seed", spec.seed));
+        return spec;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @param rows the number of beans, 100000 by default
+     */
+    public void setRows(int rows) {
+        this.rows = rows;
+    }
+
+    public int getAnyColumns() {
+        return anyColumns;
+    }
+
+    /**
+     * Sets the number of columns added through the
+     * {@link com.ebay.xcelite.annotations.AnyColumn AnyColumn} map on top of
+     * the declared columns. Ignored if the bean has no such map.
+     *
+     * @param anyColumns the number of dynamic columns, none by default
+     */
+    public void setAnyColumns(int anyColumns) {
+        this.anyColumns = anyColumns;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Sets the total number of columns of the sheet instead of the number of
+     * dynamic columns. The declared columns are the ones of the bean class,
+     * so the width is reached with
+     * {@link com.ebay.xcelite.annotations.AnyColumn AnyColumn} columns; to
+     * change the number of declared columns, generate another bean.
+     *
+     * @param columns the number of columns, at least the number of declared
+     *                columns, or 0 to use {@link #setAnyColumns(int)}
+     */
+    public void setColumns(int columns) {
+        this.columns = columns;
+    }
+
+    public double getSparsity() {
+        return sparsity;
+    }
+
+    /**
+     * Sets the probability of a value to be left empty. Primitive fields keep
+     * their default value instead. The first row is always complete, so that
+     * all the dynamic columns are known before a streaming workbook flushes
+     * the header row.
+     *
+     * @param sparsity a probability between 0 and 1, 0 by default
+     */
+    public void setSparsity(double sparsity) {
+        this.sparsity = sparsity;
+    }
+
+    public int getCardinality() {
+        return cardinality;
+    }
+
+    /**
+     * @param cardinality the number of distinct values of each string column,
+     *                    1000 by default
+     */
+    public void setCardinality(int cardinality) {
+        this.cardinality = cardinality;
+    }
+
+    public long getFirstDate() {
+        return firstDate;
+    }
+
+    /**
+     * @param firstDate the earliest date generated, in milliseconds since the
+     *                  epoch, 2014-01-01 by default
+     */
+    public void setFirstDate(long firstDate) {
+        this.firstDate = firstDate;
+    }
+
+    public int getDateDays() {
+        return dateDays;
+    }
+
+    /**
+     * @param dateDays the number of days dates are spread over, 3650 by default
+     */
+    public void setDateDays(int dateDays) {
+        this.dateDays = dateDays;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+}
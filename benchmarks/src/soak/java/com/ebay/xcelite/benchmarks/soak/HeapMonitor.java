@@ -0,0 +1,104 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.benchmarks.soak;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * Samples the heap usage of the running JVM on a background thread and
+ * measures the garbage collections since it was started.
+ *
+ * @since 1.0.6
+ */
+final class HeapMonitor implements Runnable {
+
+    private static final long SAMPLE_MILLIS = 10;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final Thread thread = new Thread(this, "xcelite-heap-monitor");
+    private final long startCollections;
+    private final long startCollectionMillis;
+    private volatile long peakHeap;
+    private volatile boolean stopped;
+
+    HeapMonitor() {
+        System.gc();
+        startCollections = getCollections();
+        startCollectionMillis = getCollectionMillis();
+        sample();
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        while (!stopped) {
+            sample();
+            try {
+                Thread.sleep(SAMPLE_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void sample() {
+        long used = memory.getHeapMemoryUsage().getUsed();
+        if (used > peakHeap) {
+            peakHeap = used;
+        }
+    }
+
+    void stop() {
+        stopped = true;
+        thread.interrupt();
+        sample();
+    }
+
+    long getPeakHeap() {
+        return peakHeap;
+    }
+
+    long getMaxHeap() {
+        return memory.getHeapMemoryUsage().getMax();
+    }
+
+    long getCollectionCount() {
+        return getCollections() - startCollections;
+    }
+
+    long getCollectionTime() {
+        return getCollectionMillis() - startCollectionMillis;
+    }
+
+    private static long getCollections() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(collector.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    private static long getCollectionMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(collector.getCollectionTime(), 0);
+        }
+        return millis;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.benchmarks.soak;
+
+import com.ebay.xcelite.annotations.AnyColumn;
+import com.ebay.xcelite.annotations.Column;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Default bean of the generated workbooks, with columns of the common types
+ * and a map of dynamic columns.
+ *
+ * @since 1.0.6
+ */
+public class SoakBean {
+
+    @Column
+    private long id;
+    @Column
+    private String name;
+    @Column
+    private String category;
+    @Column
+    private String city;
+    @Column
+    private Integer quantity;
+    @Column
+    private double amount;
+    @Column
+    private BigDecimal price;
+    @Column
+    private Boolean active;
+    @Column
+    private Date created;
+    @Column(dataFormat = "yyyy-MM-dd")
+    private Date updated;
+    @AnyColumn
+    private Map<String, Object> extra;
+}
@@ -0,0 +1,128 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.benchmarks.soak;
+
+import com.ebay.xcelite.StreamingXcelite;
+import com.ebay.xcelite.WorkbookType;
+import com.ebay.xcelite.Xcelite;
+
+import java.io.File;
+import java.util.Iterator;
+
+/**
+ * Runs a bean reader or writer over a large workbook in the current JVM and
+ * reports the peak heap usage, the garbage collections and the throughput.
+ * Run it with a capped heap to check that a mode works in bounded memory:
+ * <pre>
+ * java -Xmx256m -cp benchmarks.jar com.ebay.xcelite.benchmarks.soak.SoakTest --mode=stream --file=users.xlsx
+ * </pre>
+ * The modes are
+ * <ul>
+ * <li>write: generates a workbook of the --type into the file, taking the
+ * {@link WorkbookGenerator} options</li>
+ * <li>read: loads the workbook file and iterates the bean readers of all its
+ * sheets</li>
+ * <li>stream: iterates the bean reader of the first sheet of an xlsx file
+ * opened by {@link StreamingXcelite}</li>
+ * </ul>
+ * The process exits with status 1 if it runs out of memory.
+ *
+ * @since 1.0.6
+ */
+public final class SoakTest {
+
+    private static volatile long rows;
+
+    private SoakTest() {
+    }
+
+    public static void main(String[] args) {
+        Options options = new Options(args);
+        String mode = options.get("mode", "read");
+        File file = new File(options.get("file", "fixture.xlsx"));
+        Class<?> beanType = options.getClass("bean", SoakBean.class);
+        HeapMonitor monitor = new HeapMonitor();
+        long start = System.nanoTime();
+        try {
+            if ("write".equals(mode)) {
+                write(WorkbookType.valueOf(options.get("type", WorkbookType.SXSSF.name())), beanType,
+                        FixtureSpec.of(options), file);
+            } else if ("read".equals(mode)) {
+                read(beanType, file);
+            } else if ("stream".equals(mode)) {
+                stream(beanType, file);
+            } else {
+                throw new IllegalArgumentException("Unknown mode " + mode);
+            }
+        } catch (OutOfMemoryError e) {
+            monitor.stop();
+            System.out.printf("FAILED mode=%s: out of memory after %,d rows, max heap %s%n", mode, rows,
+                    megabytes(monitor.getMaxHeap()));
+            System.exit(1);
+        }
+        long nanos = System.nanoTime() - start;
+        monitor.stop();
+        System.out.printf("mode=%s rows=%,d time=%.1fs rows/s=%,.0f peak heap=%s of %s gc=%,d collections %.1fs%n",
+                mode, rows, nanos / 1e9, rows / (nanos / 1e9), megabytes(monitor.getPeakHeap()),
+                megabytes(monitor.getMaxHeap()), monitor.getCollectionCount(), monitor.getCollectionTime() / 1e3);
+    }
+
+    private static <T> void write(WorkbookType type, Class<T> beanType, FixtureSpec spec, File file) {
+        final BeanGenerator<T> beans = new BeanGenerator<T>(beanType, spec);
+        WorkbookGenerator.write(type, beanType, new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return beans.hasNext();
+            }
+
+            @Override
+            public T next() {
+                rows++;
+                return beans.next();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        }, beans.getAnyColumnNames(), file);
+    }
+
+    private static void read(Class<?> beanType, File file) {
+        Xcelite xcelite = new Xcelite(file);
+        int sheets = xcelite.getSheet(0).getNativeSheet().getWorkbook().getNumberOfSheets();
+        for (int i = 0; i < sheets; i++) {
+            for (Object ignored : xcelite.getSheet(i).getBeanReader(beanType)) {
+                rows++;
+            }
+        }
+    }
+
+    private static void stream(Class<?> beanType, File file) {
+        StreamingXcelite xcelite = new StreamingXcelite(file);
+        try {
+            for (Object ignored : xcelite.getSheet(0).getBeanReader(beanType)) {
+                rows++;
+            }
+        } finally {
+            xcelite.close();
+        }
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format("%.1fMB", bytes / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.benchmarks.soak;
+
+import com.ebay.xcelite.Xcelite;
+import com.ebay.xcelite.WorkbookType;
+import com.ebay.xcelite.writer.BeanSheetWriter;
+import com.ebay.xcelite.writer.ColumnSizing;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Generates workbooks of millions of rows to test reading and writing modes
+ * against. Rows are generated one at a time, so with a
+ * {@link WorkbookType#SXSSF} workbook the generator itself runs in bounded
+ * memory. An xls sheet holds at most 65536 rows, so larger
+ * {@link WorkbookType#HSSF} workbooks are spread over several sheets.
+ * <pre>
+ * java -cp benchmarks.jar com.ebay.xcelite.benchmarks.soak.WorkbookGenerator --out=users.xlsx --type=SXSSF
+ *     --rows=5000000 --anyColumns=20 --sparsity=0.1 --cardinality=50000 [--bean=com.acme.User]
+ * </pre>
+ * The bean defaults to {@link SoakBean}, see {@link FixtureSpec} for the
+ * other options.
+ *
+ * @since 1.0.6
+ */
+public final class WorkbookGenerator {
+
+    private static final int XLS_SHEET_ROWS = 65535;
+
+    private WorkbookGenerator() {
+    }
+
+    public static void main(String[] args) {
+        Options options = new Options(args);
+        File file = new File(options.get("out", "fixture.xlsx"));
+        WorkbookType type = WorkbookType.valueOf(options.get("type", WorkbookType.SXSSF.name()));
+        FixtureSpec spec = FixtureSpec.of(options);
+        long start = System.nanoTime();
+        generate(type, options.getClass("bean", SoakBean.class), spec, file);
+        System.out.printf("Generated %s rows into %s in %.1fs%n", spec.getRows(), file,
+                (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Generates a workbook into a file.
+     *
+     * @param type     the workbook type
+     * @param beanType the bean class defining the columns
+     * @param spec     the generated data
+     * @param file     the file to write the workbook to
+     */
+    public static <T> void generate(WorkbookType type, Class<T> beanType, FixtureSpec spec, File file) {
+        BeanGenerator<T> beans = new BeanGenerator<T>(beanType, spec);
+        write(type, beanType, beans, beans.getAnyColumnNames(), file);
+    }
+
+    /**
+     * Writes beans into a file, spreading them over several sheets if needed.
+     * The dynamic columns, if any, are declared since the beans are written in
+     * a single pass.
+     */
+    static <T> void write(WorkbookType type, Class<T> beanType, Iterator<T> beans, String[] anyColumns, File file) {
+        int sheetRows = type == WorkbookType.HSSF ? XLS_SHEET_ROWS : Integer.MAX_VALUE;
+        Xcelite xcelite = new Xcelite(type);
+        try {
+            do {
+                BeanSheetWriter<T> writer = (BeanSheetWriter<T>) xcelite.createSheet().getBeanWriter(beanType);
+                // exact sizing measures every cell again once written, which is not what is tested here
+                writer.setColumnSizing(ColumnSizing.ESTIMATE);
+                if (anyColumns != null) writer.declareAnyColumns(anyColumns);
+                writer.write(new Limit<T>(beans, sheetRows));
+            } while (beans.hasNext());
+            xcelite.write(file);
+        } finally {
+            xcelite.close();
+        }
+    }
+
+    private static final class Limit<T> implements Iterator<T> {
+
+        private final Iterator<T> iterator;
+        private int left;
+
+        Limit(Iterator<T> iterator, int count) {
+            this.iterator = iterator;
+            left = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return left > 0 && iterator.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            left--;
+            return iterator.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite;
+
+import com.ebay.xcelite.exceptions.XceliteException;
+import com.ebay.xcelite.sheet.StreamingXceliteSheet;
+import com.ebay.xcelite.sheet.XceliteSheet;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.InputStream;
+
+/**
+ * Read only access to large xlsx files. Unlike {@link Xcelite}, the workbook is
+ * not loaded into memory; sheets are parsed row by row when read, so rows are
+ * mapped to beans in constant memory.
+ * <p/>
+ * Both bean readers and simple readers are supported; writers and
+ * {@link com.ebay.xcelite.sheet.XceliteSheet#getNativeSheet() getNativeSheet()}
+ * throw UnsupportedOperationException. Close the object once done reading in
+ * order to release the underlying file.
+ *
+ * @since 1.0.6
+ */
+public class StreamingXcelite implements Closeable {
+
+    private final File file;
+    private final OPCPackage pkg;
+    private final XSSFReader reader;
+    private final ReadOnlySharedStringsTable sharedStrings;
+
+    public StreamingXcelite(File file) {
+        this.file = file;
+        try {
+            pkg = OPCPackage.open(file, PackageAccess.READ);
+        } catch (Exception e) {
+            throw new XceliteException(e);
+        }
+        try {
+            reader = new XSSFReader(pkg);
+            sharedStrings = new ReadOnlySharedStringsTable(pkg);
+        } catch (Exception e) {
+            pkg.revert();
+            throw new XceliteException(e);
+        }
+    }
+
+    /**
+     * Gets the sheet at the specified index.
+     *
+     * @param sheetIndex the sheet index
+     * @return XceliteSheet object
+     */
+    public XceliteSheet getSheet(int sheetIndex) {
+        XSSFReader.SheetIterator sheets = sheets();
+        for (int i = 0; sheets.hasNext(); i++) {
+            closeQuietly(sheets.next());
+            if (i == sheetIndex) {
+                return new StreamingXceliteSheet(sheets.getSheetName(), sheets.getSheetPart(), sharedStrings, file);
+            }
+        }
+        throw new XceliteException(String.format("Could not find sheet at index %s", sheetIndex));
+    }
+
+    /**
+     * Gets the sheet with the specified name.
+     *
+     * @param sheetName the sheet name
+     * @return XceliteSheet object
+     */
+    public XceliteSheet getSheet(String sheetName) {
+        XSSFReader.SheetIterator sheets = sheets();
+        while (sheets.hasNext()) {
+            closeQuietly(sheets.next());
+            if (sheetName.equals(sheets.getSheetName())) {
+                return new StreamingXceliteSheet(sheets.getSheetName(), sheets.getSheetPart(), sharedStrings, file);
+            }
+        }
+        throw new XceliteException(String.format("Could not find sheet named \"%s\"", sheetName));
+    }
+
+    /**
+     * Releases the underlying file. Sheets obtained from this object can not be
+     * read afterwards.
+     */
+    @Override
+    public void close() {
+        pkg.revert();
+    }
+
+    private XSSFReader.SheetIterator sheets() {
+        try {
+            return (XSSFReader.SheetIterator) reader.getSheetsData();
+        } catch (Exception e) {
+            throw new XceliteException(e);
+        }
+    }
+
+    private static void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (Exception ignored) {
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite;
+
+/**
+ * The workbook implementation backing a new {@link Xcelite} object.
+ *
+ * @since 1.0.6
+ */
+public enum WorkbookType {
+
+    /**
+     * Excel 97-2003 (xls) workbook, limited to 65,536 rows per sheet.
+     */
+    HSSF,
+
+    /**
+     * Excel 2007+ (xlsx) workbook, fully held in memory.
+     */
+    XSSF,
+
+    /**
+     * Excel 2007+ (xlsx) workbook which keeps only a window of rows in memory
+     * and flushes older rows to a temporary file while writing.
+     */
+    SXSSF
+}
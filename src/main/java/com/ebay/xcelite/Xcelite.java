@@ -22,8 +22,16 @@ import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * Class description...
@@ -31,21 +39,129 @@ import java.io.*;
  * @author kharel (kharel@ebay.com)
  * @creation_date Nov 9, 2013
  */
-public class Xcelite {
+public class Xcelite implements Closeable {
 
     private final Workbook workbook;
-    private File file;
+    private final File file;
 
     public Xcelite() {
-        workbook = new HSSFWorkbook();
+        this(WorkbookType.HSSF);
+    }
+
+    /**
+     * Creates a new workbook of the specified type. A {@link WorkbookType#SXSSF}
+     * workbook keeps the default window of rows in memory.
+     *
+     * @param type the workbook type
+     */
+    public Xcelite(WorkbookType type) {
+        this(type, SXSSFWorkbook.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Creates a new workbook of the specified type. For a
+     * {@link WorkbookType#SXSSF} workbook only the last rowAccessWindowSize rows
+     * of each sheet are kept in memory, older rows are flushed to a temporary
+     * file as new rows are written. The window size is ignored by other types.
+     *
+     * @param type                the workbook type
+     * @param rowAccessWindowSize the number of rows kept in memory per sheet
+     */
+    public Xcelite(WorkbookType type, int rowAccessWindowSize) {
+        file = null;
+        switch (type) {
+            case XSSF:
+                workbook = new XSSFWorkbook();
+                break;
+            case SXSSF:
+                workbook = new SXSSFWorkbook(rowAccessWindowSize);
+                break;
+            default:
+                workbook = new HSSFWorkbook();
+        }
     }
 
     public Xcelite(File file) {
+        this(openFile(file), file);
+    }
+
+    /**
+     * Opens a workbook from a path. Paths of the default file system are opened
+     * as a {@link File}, which reads the workbook container in place instead of
+     * copying it into memory first. Other paths, such as entries of a zip file
+     * system, are read as a stream.
+     *
+     * @param path the workbook path
+     */
+    public Xcelite(Path path) {
+        this(isLocal(path) ? openFile(path.toFile()) : openPath(path), isLocal(path) ? path.toFile() : null);
+    }
+
+    /**
+     * Opens a workbook from a stream, for instance an uploaded file, without
+     * writing it to a temporary file first. The stream is read to its end but
+     * not closed. Such a workbook has no file to {@link #write()} back to.
+     *
+     * @param in the stream to read the workbook from
+     */
+    public Xcelite(InputStream in) {
+        this(openStream(new NonClosingInputStream(in)), null);
+    }
+
+    /**
+     * Opens a workbook from its bytes, see {@link #Xcelite(InputStream)}.
+     *
+     * @param bytes the workbook bytes
+     */
+    public Xcelite(byte[] bytes) {
+        this(openStream(new ByteArrayInputStream(bytes)), null);
+    }
+
+    /**
+     * Opens a workbook from the remaining bytes of a buffer, see
+     * {@link #Xcelite(InputStream)}. The bytes are read in place, so a direct
+     * or memory mapped buffer is not copied into a byte array first. The
+     * buffer position is left unchanged.
+     *
+     * @param buffer the buffer holding the workbook bytes
+     */
+    public Xcelite(ByteBuffer buffer) {
+        this(openStream(buffer.hasArray()
+                ? new ByteArrayInputStream(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                buffer.remaining())
+                : new ByteBufferInputStream(buffer.duplicate())), null);
+    }
+
+    private Xcelite(Workbook workbook, File file) {
+        this.workbook = workbook;
+        this.file = file;
+    }
+
+    private static boolean isLocal(Path path) {
+        return path.getFileSystem() == FileSystems.getDefault();
+    }
+
+    private static Workbook openFile(File file) {
         try {
-            this.file = file;
-            workbook = new WorkbookFactory().create(file);
+            return WorkbookFactory.create(file);
         } catch (Exception e) {
-            throw new RuntimeException(e);
+            throw new XceliteException(e);
+        }
+    }
+
+    private static Workbook openPath(Path path) {
+        try (InputStream in = Files.newInputStream(path)) {
+            return openStream(in);
+        } catch (IOException e) {
+            throw new XceliteException(e);
+        }
+    }
+
+    private static Workbook openStream(InputStream in) {
+        try {
+            return WorkbookFactory.create(in);
+        } catch (Exception e) {
+            throw new XceliteException(e);
         }
     }
 
@@ -108,49 +224,150 @@ public class Xcelite {
     }
 
     /**
-     * Saves data to a new file.
+     * Saves data to a new file. A {@link WorkbookType#SXSSF} workbook can be
+     * written only once, its temporary files are deleted afterwards.
      *
      * @param file the file to save the data into
      */
     public void write(File file) {
-        FileOutputStream out = null;
+        try (OutputStream out = new FileOutputStream(file, false)) {
+            write(out);
+        } catch (IOException e) {
+            throw new XceliteException(e);
+        }
+    }
+
+    /**
+     * Writes the workbook to an output stream, for instance straight into an
+     * HTTP response without buffering the whole workbook in memory. The
+     * stream is neither buffered nor closed. A {@link WorkbookType#SXSSF}
+     * workbook can be written only once.
+     *
+     * @param out the stream to write the workbook to
+     */
+    public void write(OutputStream out) {
         try {
-            out = new FileOutputStream(file, false);
-            workbook.write(out);
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e);
+            // xlsx workbooks close the stream they are written to
+            workbook.write(new NonClosingOutputStream(out));
         } catch (IOException e) {
-            new RuntimeException(e);
+            throw new XceliteException(e);
         } finally {
-            if (out != null)
-                try {
-                    out.flush();
-                    out.close();
-                } catch (IOException e) {
-                    new RuntimeException(e);
-                }
+            dispose();
         }
     }
 
     /**
-     * Gets the excel file as byte array.
+     * Writes the workbook to a channel, see {@link #write(OutputStream)}. The
+     * channel is not closed.
+     *
+     * @param channel the channel to write the workbook to
+     */
+    public void write(WritableByteChannel channel) {
+        write(Channels.newOutputStream(channel));
+    }
+
+    /**
+     * Gets the excel file as byte array. Prefer {@link #write(OutputStream)}
+     * for large workbooks, which does not hold the whole file in memory.
      *
      * @return byte array which represents the excel file
      */
     public byte[] getBytes() {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try {
-            workbook.write(baos);
-        } catch (IOException e) {
-            new RuntimeException(e);
-        } finally {
-            if (baos != null)
-                try {
-                    baos.close();
-                } catch (IOException e) {
-                    new RuntimeException(e);
-                }
-        }
+        write(baos);
         return baos.toByteArray();
     }
+
+    /**
+     * Releases the resources held by the workbook, such as the temporary files
+     * of a {@link WorkbookType#SXSSF} workbook which was not written.
+     */
+    @Override
+    public void close() {
+        dispose();
+    }
+
+    private void dispose() {
+        if (workbook instanceof SXSSFWorkbook) {
+            ((SXSSFWorkbook) workbook).dispose();
+        }
+    }
+
+    private static final class NonClosingInputStream extends FilterInputStream {
+
+        NonClosingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) return 0;
+            if (!buffer.hasRemaining()) return -1;
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int readLimit) {
+            buffer.mark();
+        }
+
+        @Override
+        public synchronized void reset() {
+            buffer.reset();
+        }
+    }
+
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
 }
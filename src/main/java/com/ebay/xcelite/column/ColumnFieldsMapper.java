@@ -15,11 +15,14 @@ import java.util.Set;
 public class ColumnFieldsMapper {
 
     private final Map<String, Field> columnFieldsMap;
+    private final Map<String, FieldAccessor> columnAccessorsMap;
 
     public ColumnFieldsMapper(Set<Field> columnFields) {
         columnFieldsMap = Maps.newHashMap();
+        columnAccessorsMap = Maps.newHashMap();
         for (Field field : columnFields) {
             columnFieldsMap.put(field.getName(), field);
+            columnAccessorsMap.put(field.getName(), new FieldAccessor(field));
         }
     }
 
@@ -27,4 +30,8 @@ public class ColumnFieldsMapper {
         return columnFieldsMap.get(fieldName);
     }
 
+    public FieldAccessor getColumnAccessor(String fieldName) {
+        return columnAccessorsMap.get(fieldName);
+    }
+
 }
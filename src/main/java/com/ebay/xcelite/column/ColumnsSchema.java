@@ -0,0 +1,132 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.column;
+
+import com.ebay.xcelite.annotations.AnyColumn;
+import com.google.common.collect.Sets;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * The columns extracted from a bean class by {@link ColumnsExtractor}, along
+ * with compiled accessors for their fields. Schemas are cached per class, so
+ * the annotations of a class are scanned only once no matter how many readers
+ * and writers are created for it.
+ * <p/>
+ * The cache is backed by {@link ClassValue}, which is thread safe and does not
+ * keep classes from being unloaded. Schemas are immutable and may be shared
+ * between threads.
+ *
+ * @since 1.0.6
+ */
+public final class ColumnsSchema {
+
+    private static final ClassValue<ColumnsSchema> SCHEMAS = new ClassValue<ColumnsSchema>() {
+        @Override
+        protected ColumnsSchema computeValue(Class<?> type) {
+            return new ColumnsSchema(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final Set<Col> columns;
+    private final Col anyColumn;
+    private final Field anyColumnField;
+    private final AnyColumn anyColumnAnnotation;
+    private final ColumnFieldsMapper fieldsMapper;
+
+    private ColumnsSchema(Class<?> type) {
+        this.type = type;
+        ColumnsExtractor extractor = new ColumnsExtractor(type);
+        extractor.extract();
+
+        columns = Collections.unmodifiableSet(extractor.getColumns());
+        anyColumn = extractor.getAnyColumn();
+        anyColumnField = extractor.getAnyColumnField();
+        anyColumnAnnotation = anyColumnField == null ? null : anyColumnField.getAnnotation(AnyColumn.class);
+
+        Set<Field> fields = Sets.newHashSet(extractor.getColumnFields());
+        if (anyColumnField != null) {
+            fields.add(anyColumnField);
+        }
+        fieldsMapper = new ColumnFieldsMapper(fields);
+    }
+
+    /**
+     * Gets the schema of the specified bean class, extracting it on first use.
+     *
+     * @param type the bean class
+     * @return the schema of the class
+     */
+    public static ColumnsSchema of(Class<?> type) {
+        return SCHEMAS.get(type);
+    }
+
+    /**
+     * Extracts the schemas of the specified bean classes upfront, for instance
+     * at application startup. Fails fast if a class is not annotated properly.
+     *
+     * @param types the bean classes
+     */
+    public static void register(Class<?>... types) {
+        for (Class<?> type : types) {
+            of(type);
+        }
+    }
+
+    /**
+     * Removes the cached schema of the specified bean class. The schema will be
+     * extracted again on next use.
+     *
+     * @param type the bean class
+     */
+    public static void evict(Class<?> type) {
+        SCHEMAS.remove(type);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Gets the columns in {@link com.ebay.xcelite.annotations.Row Row} order.
+     * The returned set can't be modified, copy it to add columns.
+     */
+    public Set<Col> getColumns() {
+        return columns;
+    }
+
+    public Col getAnyColumn() {
+        return anyColumn;
+    }
+
+    public Field getAnyColumnField() {
+        return anyColumnField;
+    }
+
+    public AnyColumn getAnyColumnAnnotation() {
+        return anyColumnAnnotation;
+    }
+
+    /**
+     * Gets the mapper of the column fields, including the any column field.
+     */
+    public ColumnFieldsMapper getFieldsMapper() {
+        return fieldsMapper;
+    }
+}
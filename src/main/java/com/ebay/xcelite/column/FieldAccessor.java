@@ -0,0 +1,196 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.column;
+
+import com.ebay.xcelite.exceptions.XceliteException;
+import com.google.common.base.Throwables;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Compiled getter and setter of a bean field. The field is resolved to
+ * method handles once, so reading and writing a value involves no reflection
+ * lookups or access checks.
+ *
+ * @since 1.0.6
+ */
+public final class FieldAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final boolean primitive;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final MethodHandle primitiveSetter;
+
+    public FieldAccessor(Field field) {
+        this.field = field;
+        primitive = field.getType().isPrimitive();
+        try {
+            field.setAccessible(true);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            MethodHandle fieldSetter = lookup.unreflectSetter(field);
+            setter = fieldSetter.asType(SETTER_TYPE);
+            primitiveSetter = primitive
+                    ? fieldSetter.asType(MethodType.methodType(void.class, Object.class, field.getType()))
+                    : null;
+        } catch (IllegalAccessException e) {
+            throw new XceliteException(e);
+        }
+    }
+
+    public Object get(Object bean) {
+        try {
+            return (Object) getter.invokeExact(bean);
+        } catch (Throwable t) {
+            throw Throwables.propagate(t);
+        }
+    }
+
+    /**
+     * Sets the field value. Setting null to a primitive field leaves the field
+     * untouched.
+     */
+    public void set(Object bean, Object value) {
+        if (value == null && primitive) return;
+        try {
+            setter.invokeExact(bean, value);
+        } catch (Throwable t) {
+            throw Throwables.propagate(t);
+        }
+    }
+
+    /**
+     * Sets a double value, without boxing it if the field is a primitive
+     * double.
+     */
+    public void setDouble(Object bean, double value) {
+        if (!primitive) {
+            set(bean, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(bean, value);
+        } catch (Throwable t) {
+            throw Throwables.propagate(t);
+        }
+    }
+
+    /**
+     * Sets a float value, without boxing it if the field is a primitive float.
+     */
+    public void setFloat(Object bean, float value) {
+        if (!primitive) {
+            set(bean, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(bean, value);
+        } catch (Throwable t) {
+            throw Throwables.propagate(t);
+        }
+    }
+
+    /**
+     * Sets a long value, without boxing it if the field is a primitive long.
+     */
+    public void setLong(Object bean, long value) {
+        if (!primitive) {
+            set(bean, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(bean, value);
+        } catch (Throwable t) {
+            throw Throwables.propagate(t);
+        }
+    }
+
+    /**
+     * Sets an int value, without boxing it if the field is a primitive int.
+     */
+    public void setInt(Object bean, int value) {
+        if (!primitive) {
+            set(bean, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(bean, value);
+        } catch (Throwable t) {
+            throw Throwables.propagate(t);
+        }
+    }
+
+    /**
+     * Sets a short value, without boxing it if the field is a primitive short.
+     */
+    public void setShort(Object bean, short value) {
+        if (!primitive) {
+            set(bean, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(bean, value);
+        } catch (Throwable t) {
+            throw Throwables.propagate(t);
+        }
+    }
+
+    /**
+     * Sets a char value, without boxing it if the field is a primitive char.
+     */
+    public void setChar(Object bean, char value) {
+        if (!primitive) {
+            set(bean, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(bean, value);
+        } catch (Throwable t) {
+            throw Throwables.propagate(t);
+        }
+    }
+
+    /**
+     * Sets a boolean value, without boxing it if the field is a primitive
+     * boolean.
+     */
+    public void setBoolean(Object bean, boolean value) {
+        if (!primitive) {
+            set(bean, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(bean, value);
+        } catch (Throwable t) {
+            throw Throwables.propagate(t);
+        }
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Class<?> getType() {
+        return field.getType();
+    }
+}
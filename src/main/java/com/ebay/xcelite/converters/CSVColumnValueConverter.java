@@ -15,6 +15,7 @@
 */
 package com.ebay.xcelite.converters;
 
+import com.ebay.xcelite.annotations.Shareable;
 import com.google.common.collect.Lists;
 
 import java.util.Collection;
@@ -28,6 +29,7 @@ import java.util.Collection;
  * @author kharel (kharel@ebay.com)
  * @creation_date Sep 14, 2013
  */
+@Shareable
 public class CSVColumnValueConverter extends DelimiterColumnValueConverter {
 
     @Override
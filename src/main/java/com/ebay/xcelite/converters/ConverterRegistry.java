@@ -0,0 +1,139 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.converters;
+
+import com.ebay.xcelite.annotations.Shareable;
+import com.ebay.xcelite.exceptions.XceliteException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Provides the converter instances used by readers and writers, so that
+ * converters are instantiated once instead of once per cell.
+ * <p/>
+ * Converter classes annotated with {@link Shareable}, and instances registered
+ * with {@link #register(Class, ColumnValueConverter)}, are singletons. Other
+ * converters are instantiated once per reader or writer column, plus once per
+ * additional thread reading the column concurrently. The instances are only
+ * referenced by the column, so nothing is left behind in pooled threads once
+ * the reader or writer is discarded.
+ *
+ * @since 1.0.6
+ */
+public final class ConverterRegistry {
+
+    private static final ConcurrentMap<Class<?>, ColumnValueConverter<?, ?>> REGISTERED =
+            new ConcurrentHashMap<Class<?>, ColumnValueConverter<?, ?>>();
+
+    private static final ClassValue<ColumnValueConverter<?, ?>> SHARED = new ClassValue<ColumnValueConverter<?, ?>>() {
+        @Override
+        protected ColumnValueConverter<?, ?> computeValue(Class<?> type) {
+            return type.isAnnotationPresent(Shareable.class) ? (ColumnValueConverter<?, ?>) newInstance(type) : null;
+        }
+    };
+
+    private ConverterRegistry() {
+    }
+
+    /**
+     * Registers the instance to use for the specified converter class, for
+     * instance a converter which needs configuration. The instance is shared
+     * by all readers and writers and must be thread safe.
+     *
+     * @param type      the converter class as used in the annotations
+     * @param converter the converter instance
+     */
+    public static <C extends ColumnValueConverter<?, ?>> void register(Class<C> type, C converter) {
+        REGISTERED.put(type, converter);
+    }
+
+    /**
+     * Removes a converter instance registered for the specified class.
+     *
+     * @param type the converter class
+     */
+    public static void unregister(Class<? extends ColumnValueConverter<?, ?>> type) {
+        REGISTERED.remove(type);
+    }
+
+    /**
+     * Gets the shared instance of the specified converter class.
+     *
+     * @param type the converter class
+     * @return the shared instance, or null if the converter is neither
+     * registered nor {@link Shareable}
+     */
+    @SuppressWarnings("unchecked")
+    public static <C extends ColumnValueConverter<?, ?>> C getShared(Class<C> type) {
+        C converter = (C) REGISTERED.get(type);
+        return converter != null ? converter : (C) SHARED.get(type);
+    }
+
+    /**
+     * Gets a supplier of instances of the specified converter class, to be kept
+     * for the lifetime of a column. The supplier returns the shared instance if
+     * there is one, otherwise an instance of its own for the thread creating
+     * it, and another one for each other thread calling it, e.g. when the
+     * rows of a parallel stream are read on several threads.
+     *
+     * @param type the converter class
+     * @return the converter supplier
+     */
+    public static <C extends ColumnValueConverter<?, ?>> Supplier<C> supplierOf(final Class<C> type) {
+        final C sharedConverter = getShared(type);
+        if (sharedConverter != null) {
+            return () -> sharedConverter;
+        }
+        return new PerThreadSupplier<C>(type);
+    }
+
+    private static <C> C newInstance(Class<C> type) {
+        try {
+            return type.newInstance();
+        } catch (InstantiationException e) {
+            throw new XceliteException(e);
+        } catch (IllegalAccessException e) {
+            throw new XceliteException(e);
+        }
+    }
+
+    /**
+     * Holds the converters of a single column, so they are released together
+     * with the column instead of staying in thread locals.
+     */
+    private static final class PerThreadSupplier<C> implements Supplier<C> {
+
+        private final Class<C> type;
+        private final Thread owner;
+        private final C ownerConverter;
+        private final ConcurrentMap<Thread, C> others = new ConcurrentHashMap<Thread, C>();
+
+        PerThreadSupplier(Class<C> type) {
+            this.type = type;
+            owner = Thread.currentThread();
+            ownerConverter = newInstance(type);
+        }
+
+        @Override
+        public C get() {
+            Thread thread = Thread.currentThread();
+            if (thread == owner) return ownerConverter;
+            return others.computeIfAbsent(thread, t -> newInstance(type));
+        }
+    }
+}
@@ -28,16 +28,26 @@ import java.util.Collection;
  */
 public abstract class DelimiterColumnValueConverter implements ColumnValueConverter<String, Collection<?>> {
 
+    // built on first use, as the delimiter is only known once the subclass is constructed
+    private Joiner joiner;
+    private Splitter splitter;
+
     @Override
     public String serialize(Collection<?> value) {
-        return Joiner.on(getDelimiter()).skipNulls().join(value);
+        Joiner joiner = this.joiner;
+        if (joiner == null) {
+            this.joiner = joiner = Joiner.on(getDelimiter()).skipNulls();
+        }
+        return joiner.join(value);
     }
 
     @Override
     public Collection<?> deserialize(String value) {
-        String str = (String) value;
-        Iterable<String> split = Splitter.on(getDelimiter()).omitEmptyStrings().trimResults().split(str);
-        return getCollection(split);
+        Splitter splitter = this.splitter;
+        if (splitter == null) {
+            this.splitter = splitter = Splitter.on(getDelimiter()).omitEmptyStrings().trimResults();
+        }
+        return getCollection(splitter.split(value));
     }
 
     /**
@@ -0,0 +1,35 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.ebay.xcelite.reader;
+
+import java.util.List;
+
+/**
+ * Receives the objects read from a sheet in fixed size chunks, see
+ * {@link SheetReader#read(int, BatchHandler)}.
+ *
+ * @since 1.0.6
+ */
+public interface BatchHandler<T> {
+
+    /**
+     * Handles the next batch of objects. The list is reused by the reader and
+     * cleared once this method returns, copy it if the objects need to be kept.
+     *
+     * @param batch the objects read, never empty
+     */
+    void handle(List<T> batch);
+}
@@ -0,0 +1,266 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.reader;
+
+import com.ebay.xcelite.annotate.NoConverterClass;
+import com.ebay.xcelite.annotations.AnyColumn;
+import com.ebay.xcelite.column.Col;
+import com.ebay.xcelite.column.ColumnFieldsMapper;
+import com.ebay.xcelite.column.ColumnsSchema;
+import com.ebay.xcelite.column.FieldAccessor;
+import com.ebay.xcelite.converters.ColumnValueConverter;
+import com.ebay.xcelite.converters.ConverterRegistry;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Maps cell values read from a sheet row into a bean, using the column
+ * metadata extracted from the bean class. Shared by the bean readers so that
+ * all of them honor {@link com.ebay.xcelite.annotations.Column Column},
+ * {@link AnyColumn} and converters the same way.
+ * <p/>
+ * Columns are addressed by index: readers resolve the header names once with
+ * {@link #getColumnIndex(String)} and then read every cell through the
+ * {@link CellDecoder} of that index, see {@link #getDecoder(int, String)}.
+ *
+ * @since 1.0.6
+ */
+class BeanRowMapper<T> {
+
+    /**
+     * Column index of sheet columns that go to the {@link AnyColumn} map.
+     */
+    static final int ANY_COLUMN = -1;
+
+    /**
+     * Column index of sheet columns that are not mapped to the bean.
+     */
+    static final int UNMAPPED = -2;
+
+    private final Class<T> type;
+    private final Col[] columns;
+    private final FieldAccessor[] accessors;
+    private final Supplier<ColumnValueConverter<Object, ?>>[] converters;
+    private final CellDecoder[] decoders;
+    private final Map<String, Integer> columnIndexes;
+    private final FieldAccessor anyColumnAccessor;
+    private final AnyColumn anyColumnAnnotation;
+    private final Supplier<ColumnValueConverter<Object, ?>> anyColumnConverter;
+    private Set<String> ignoreCols;
+
+    @SuppressWarnings("unchecked")
+    BeanRowMapper(Class<T> type) {
+        this.type = type;
+        ColumnsSchema schema = ColumnsSchema.of(type);
+
+        Set<Col> schemaColumns = schema.getColumns();
+        columns = schemaColumns.toArray(new Col[schemaColumns.size()]);
+        accessors = new FieldAccessor[columns.length];
+        converters = (Supplier<ColumnValueConverter<Object, ?>>[]) new Supplier<?>[columns.length];
+        decoders = new CellDecoder[columns.length];
+        columnIndexes = Maps.newHashMap();
+        ColumnFieldsMapper fieldsMapper = schema.getFieldsMapper();
+        for (int i = 0; i < columns.length; i++) {
+            accessors[i] = fieldsMapper.getColumnAccessor(columns[i].getFieldName());
+            if (columns[i].getConverter() != null) {
+                converters[i] = (Supplier) ConverterRegistry.supplierOf(columns[i].getConverter());
+            } else {
+                decoders[i] = CellDecoder.forField(accessors[i]);
+            }
+            columnIndexes.put(columns[i].getName(), i);
+        }
+
+        if (schema.getAnyColumnField() != null) {
+            anyColumnAccessor = fieldsMapper.getColumnAccessor(schema.getAnyColumnField().getName());
+            anyColumnAnnotation = schema.getAnyColumnAnnotation();
+            ignoreCols = Sets.newHashSet(anyColumnAnnotation.ignoreCols());
+            anyColumnConverter = anyColumnAnnotation.converter() == NoConverterClass.class ? null
+                    : (Supplier) ConverterRegistry.supplierOf(anyColumnAnnotation.converter());
+        } else {
+            anyColumnAccessor = null;
+            anyColumnAnnotation = null;
+            anyColumnConverter = null;
+        }
+    }
+
+    T newInstance() {
+        try {
+            return type.newInstance();
+        } catch (InstantiationException e) {
+            throw new RuntimeException(e);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Resolves a sheet column name to the index used to set its values.
+     *
+     * @param columnName the column name as found in the header row
+     * @return the column index, {@link #ANY_COLUMN} or {@link #UNMAPPED}
+     */
+    int getColumnIndex(String columnName) {
+        Integer index = columnIndexes.get(columnName);
+        if (index != null) {
+            return index;
+        }
+        if (anyColumnAccessor != null && !ignoreCols.contains(columnName)) {
+            return ANY_COLUMN;
+        }
+        return UNMAPPED;
+    }
+
+    /**
+     * Resolves all the header column names, see {@link #getColumnIndex(String)}.
+     */
+    int[] getColumnIndexes(String[] header) {
+        int[] indexes = new int[header.length];
+        for (int i = 0; i < header.length; i++) {
+            indexes[i] = header[i] == null ? UNMAPPED : getColumnIndex(header[i]);
+        }
+        return indexes;
+    }
+
+    /**
+     * Gets the decoder reading cells of the specified column into the bean.
+     * Columns with a converter, the {@link AnyColumn} map and fields of other
+     * types than the ones {@link CellDecoder} handles are read as a generic
+     * cell value first.
+     *
+     * @param columnIndex a mapped column index or {@link #ANY_COLUMN}
+     * @param columnName  the column name as found in the header row
+     * @return the decoder
+     */
+    CellDecoder getDecoder(int columnIndex, String columnName) {
+        if (columnIndex != ANY_COLUMN && decoders[columnIndex] != null) {
+            return decoders[columnIndex];
+        }
+        return new ValueDecoder(columnIndex, columnName);
+    }
+
+    /**
+     * Gets the type the cell value of the specified column should be read as.
+     */
+    private Class<?> getCellType(int columnIndex) {
+        return columnIndex == ANY_COLUMN ? String.class : columns[columnIndex].getType();
+    }
+
+    /**
+     * Sets the cell value of the specified column into the bean. The value must
+     * have been read as the type returned by {@link #getCellType(int)}.
+     */
+    @SuppressWarnings("unchecked")
+    private void setValue(Object object, int columnIndex, String columnName, Object cellValue) {
+        if (columnIndex == ANY_COLUMN) {
+            writeToAnyColumnField((T) object, cellValue, columnName);
+        } else {
+            writeToField(accessors[columnIndex], converters[columnIndex], (T) object, cellValue);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeToAnyColumnField(T object, Object value, String columnName) {
+        try {
+            if (value == null) return;
+
+            Map<String, Object> map = (Map<String, Object>) anyColumnAccessor.get(object);
+            if (map == null) {
+                map = (Map<String, Object>) anyColumnAnnotation.as().newInstance();
+                anyColumnAccessor.set(object, map);
+            }
+
+            if (anyColumnConverter != null) {
+                value = anyColumnConverter.get().deserialize(value);
+            }
+            map.put(columnName, value);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } catch (InstantiationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void writeToField(FieldAccessor accessor, Supplier<ColumnValueConverter<Object, ?>> converter,
+                              T object, Object cellValue) {
+        if (cellValue != null) {
+            if (converter != null) {
+                cellValue = converter.get().deserialize(cellValue);
+            } else {
+                cellValue = convertToFieldType(cellValue, accessor.getType());
+            }
+        }
+        accessor.set(object, cellValue);
+    }
+
+    /**
+     * Reads cells as a generic value which is then converted to the field.
+     */
+    private class ValueDecoder extends CellDecoder {
+
+        private final int columnIndex;
+        private final String columnName;
+        private final Class<?> cellType;
+
+        ValueDecoder(int columnIndex, String columnName) {
+            this.columnIndex = columnIndex;
+            this.columnName = columnName;
+            cellType = getCellType(columnIndex);
+        }
+
+        @Override
+        void decode(Object bean, Cell cell) {
+            setValue(bean, columnIndex, columnName, CellDecoder.readValue(cell, cellType));
+        }
+
+        @Override
+        void decode(Object bean, XSSFRowCursor cursor, int i) {
+            setValue(bean, columnIndex, columnName, cursor.getValue(i, cellType));
+        }
+    }
+
+    private Object convertToFieldType(Object cellValue, Class<?> fieldType) {
+        String value = String.valueOf(cellValue);
+        if (fieldType == Double.class || fieldType == double.class) {
+            return Double.valueOf(value);
+        }
+        if (fieldType == Integer.class || fieldType == int.class) {
+            return Double.valueOf(value).intValue();
+        }
+        if (fieldType == Short.class || fieldType == short.class) {
+            return Double.valueOf(value).shortValue();
+        }
+        if (fieldType == Long.class || fieldType == long.class) {
+            return Double.valueOf(value).longValue();
+        }
+        if (fieldType == Float.class || fieldType == float.class) {
+            return Double.valueOf(value).floatValue();
+        }
+        if (fieldType == Character.class || fieldType == char.class) {
+            return value.charAt(0);
+        }
+        if (fieldType == Date.class) {
+            return DateUtil.getJavaDate(Double.valueOf(value));
+        }
+        return value;
+    }
+}
@@ -15,22 +15,13 @@
 */
 package com.ebay.xcelite.reader;
 
-import com.ebay.xcelite.annotate.NoConverterClass;
-import com.ebay.xcelite.annotations.AnyColumn;
-import com.ebay.xcelite.column.Col;
-import com.ebay.xcelite.column.ColumnFieldsMapper;
-import com.ebay.xcelite.column.ColumnsExtractor;
-import com.ebay.xcelite.column.ColumnsMapper;
-import com.ebay.xcelite.converters.ColumnValueConverter;
 import com.ebay.xcelite.exceptions.XceliteException;
 import com.ebay.xcelite.sheet.XceliteSheet;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
 
-import java.lang.reflect.Field;
 import java.util.*;
 
 /**
@@ -41,170 +32,66 @@ import java.util.*;
  */
 public class BeanSheetReader<T> extends SheetReaderAbs<T> {
 
-    private final LinkedHashSet<Col> columns;
-    private final Col anyColumn;
-    private final Field anyColumnField;
-    private final ColumnsMapper mapper;
-    private final ColumnFieldsMapper fieldsMapper;
-    private final Class<T> type;
-    private LinkedHashSet<String> header;
-    private Iterator<Row> rowIterator;
-    private Set<String> ignoreCols;
+    private final BeanRowMapper<T> rowMapper;
 
     public BeanSheetReader(XceliteSheet sheet, Class<T> type) {
         super(sheet, false);
-        this.type = type;
-        ColumnsExtractor extractor = new ColumnsExtractor(type);
-        extractor.extract();
-
-        columns = extractor.getColumns();
-        mapper = new ColumnsMapper(columns);
-
-        fieldsMapper = new ColumnFieldsMapper(extractor.getColumnFields());
-
-        anyColumn = extractor.getAnyColumn();
-        anyColumnField = extractor.getAnyColumnField();
-
-        if (anyColumnField != null) {
-            AnyColumn anyColumnAnno = anyColumnField.getAnnotation(AnyColumn.class);
-            ignoreCols = Sets.newHashSet(anyColumnAnno.ignoreCols());
-        }
+        rowMapper = new BeanRowMapper<T>(type);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
-    public Collection<T> read() {
-        buildHeader();
-        List<T> data = Lists.newArrayList();
-        try {
-            while (rowIterator.hasNext()) {
-                Row row = rowIterator.next();
-                if (isBlankRow(row)) continue;
-                T object = type.newInstance();
-
-                int i = 0;
-                for (String columnName : header) {
-                    Cell cell = row.getCell(i, Row.RETURN_BLANK_AS_NULL);
-                    Col col = mapper.getColumn(columnName);
-                    if (col == null) {
-                        if (anyColumn != null && !isColumnInIgnoreList(columnName)) {
-                            writeToAnyColumnField(object, cell, columnName);
-                        }
-                    } else {
-                        Field field = fieldsMapper.getColumnField(col.getFieldName());
-                        writeToField(field, object, cell, col);
-                    }
-                    i++;
-                }
-
-                boolean keepObject = true;
-                for (RowPostProcessor<T> rowPostProcessor : rowPostProcessors) {
-                    keepObject = rowPostProcessor.process(object);
-                    if (!keepObject) break;
-                }
-
-                if (keepObject) {
-                    data.add(object);
-                }
-            }
-        } catch (InstantiationException e) {
-            throw new RuntimeException(e);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
-        }
-        return data;
-    }
-
-    private boolean isColumnInIgnoreList(String columnName) {
-        return ignoreCols.contains(columnName);
+    public Iterator<T> iterator() {
+        return Spliterators.iterator(spliterator());
     }
 
-    @SuppressWarnings("unchecked")
-    private void writeToAnyColumnField(T object, Cell cell, String columnName) {
-        try {
-            Object value = readValueFromCell(cell, String.class);
-            if (value == null) return;
-
-            AnyColumn annotation = anyColumnField.getAnnotation(AnyColumn.class);
-            if (anyColumnField.get(object) == null) {
-                Map<String, Object> map = (Map<String, Object>) annotation.as().newInstance();
-                anyColumnField.set(object, map);
-            }
-
-            Map<String, Object> map = (Map<String, Object>) anyColumnField.get(object);
-            if (annotation.converter() != NoConverterClass.class) {
-                ColumnValueConverter<Object, ?> converter = (ColumnValueConverter<Object, ?>) annotation.converter()
-                        .newInstance();
-                value = converter.deserialize(value);
-            }
-            map.put(columnName, value);
-        } catch (IllegalArgumentException e) {
-            throw new RuntimeException(e);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
-        } catch (InstantiationException e) {
-            throw new RuntimeException(e);
+    /**
+     * Creates a spliterator over the data rows of the sheet. It splits by row
+     * ranges, so rows are decoded concurrently when the reader is used as a
+     * parallel stream. Row post processors must be thread safe in that case.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        Sheet nativeSheet = sheet.getNativeSheet();
+        Row headerRow = nativeSheet.getRow(nativeSheet.getFirstRowNum());
+        if (headerRow == null) {
+            throw new XceliteException("First row in sheet is empty. First row must contain header");
         }
+        final HeaderPlan plan = new HeaderPlan(buildHeader(headerRow), rowMapper);
+        return new RowRangeSpliterator<T>(nativeSheet, headerRow.getRowNum() + 1, nativeSheet.getLastRowNum() + 1,
+                row -> {
+                    if (isBlankRow(row)) return null;
+                    T object = readRow(row, plan);
+                    return postProcess(object) ? object : null;
+                });
     }
 
-    @SuppressWarnings("unchecked")
-    private void writeToField(Field field, T object, Cell cell, Col column) {
-        try {
-            Object cellValue = readValueFromCell(cell, column.getType());
-            if (cellValue != null) {
-                if (column.getConverter() != null) {
-                    ColumnValueConverter<Object, ?> converter = (ColumnValueConverter<Object, ?>) column.getConverter()
-                            .newInstance();
-                    cellValue = converter.deserialize(cellValue);
-                } else {
-                    cellValue = convertToFieldType(cellValue, field.getType());
-                }
-            }
-            field.set(object, cellValue);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
-        } catch (InstantiationException e) {
-            throw new RuntimeException(e);
+    private T readRow(Row row, HeaderPlan plan) {
+        T object = rowMapper.newInstance();
+        Iterator<Cell> cells = row.cellIterator();
+        while (cells.hasNext()) {
+            Cell cell = cells.next();
+            CellDecoder decoder = plan.getDecoder(cell.getColumnIndex());
+            if (decoder == null || cell.getCellType() == Cell.CELL_TYPE_BLANK) continue;
+            decoder.decode(object, cell);
         }
+        return object;
     }
 
-    private Object convertToFieldType(Object cellValue, Class<?> fieldType) {
-        String value = String.valueOf(cellValue);
-        if (fieldType == Double.class || fieldType == double.class) {
-            return Double.valueOf(value);
-        }
-        if (fieldType == Integer.class || fieldType == int.class) {
-            return Double.valueOf(value).intValue();
-        }
-        if (fieldType == Short.class || fieldType == short.class) {
-            return Double.valueOf(value).shortValue();
-        }
-        if (fieldType == Long.class || fieldType == long.class) {
-            return Double.valueOf(value).longValue();
-        }
-        if (fieldType == Float.class || fieldType == float.class) {
-            return Double.valueOf(value).floatValue();
-        }
-        if (fieldType == Character.class || fieldType == char.class) {
-            return value.charAt(0);
-        }
-        if (fieldType == Date.class) {
-            return DateUtil.getJavaDate(Double.valueOf(value));
-        }
-        return value;
-    }
-
-    private void buildHeader() {
-        header = Sets.newLinkedHashSet();
-        rowIterator = sheet.getNativeSheet().rowIterator();
-        Row row = rowIterator.next();
-        if (row == null) {
-            throw new XceliteException("First row in sheet is empty. First row must contain header");
-        }
+    /**
+     * Reads the header column names indexed by cell index. A name repeated in
+     * the header keeps its first cell only.
+     */
+    private String[] buildHeader(Row row) {
+        String[] header = new String[Math.max(row.getLastCellNum(), 0)];
+        Set<String> names = Sets.newHashSet();
         Iterator<Cell> itr = row.cellIterator();
         while (itr.hasNext()) {
             Cell cell = itr.next();
-            header.add(cell.getStringCellValue());
+            String name = cell.getStringCellValue();
+            if (names.add(name)) {
+                header[cell.getColumnIndex()] = name;
+            }
         }
+        return header;
     }
 }
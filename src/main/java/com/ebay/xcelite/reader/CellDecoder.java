@@ -0,0 +1,297 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.reader;
+
+import com.ebay.xcelite.column.FieldAccessor;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import static com.ebay.xcelite.column.ColumnsIdentifier.isStringByFeildType;
+
+/**
+ * Reads the value of a non blank cell into a bean. Decoders are compiled once
+ * per column for the type of the field they set: a numeric cell read into a
+ * primitive field goes straight from the native cell value to the field,
+ * without being boxed or turned into text and parsed back.
+ *
+ * @since 1.0.6
+ */
+abstract class CellDecoder {
+
+    /**
+     * Reads the specified cell into the bean.
+     *
+     * @param bean the bean to populate
+     * @param cell a non blank cell
+     */
+    abstract void decode(Object bean, Cell cell);
+
+    /**
+     * Reads the i-th non blank cell of the cursor's current row into the bean.
+     *
+     * @param bean   the bean to populate
+     * @param cursor the cursor positioned on the row to read
+     * @param i      the cell position in the current row
+     */
+    abstract void decode(Object bean, XSSFRowCursor cursor, int i);
+
+    /**
+     * Creates a decoder which sets the cell values into the specified field.
+     *
+     * @param accessor the field accessor
+     * @return the decoder, or null if the field type has no dedicated decoder
+     */
+    static CellDecoder forField(FieldAccessor accessor) {
+        Class<?> type = accessor.getType();
+        if (type == String.class) {
+            return new StringDecoder(accessor);
+        }
+        if (type == Double.class || type == double.class) {
+            return new NumericDecoder(accessor) {
+                @Override
+                void decodeNumber(Object bean, double value) {
+                    accessor.setDouble(bean, value);
+                }
+            };
+        }
+        if (type == Integer.class || type == int.class) {
+            return new NumericDecoder(accessor) {
+                @Override
+                void decodeNumber(Object bean, double value) {
+                    accessor.setInt(bean, (int) value);
+                }
+            };
+        }
+        if (type == Long.class || type == long.class) {
+            return new NumericDecoder(accessor) {
+                @Override
+                void decodeNumber(Object bean, double value) {
+                    accessor.setLong(bean, (long) value);
+                }
+            };
+        }
+        if (type == Short.class || type == short.class) {
+            return new NumericDecoder(accessor) {
+                @Override
+                void decodeNumber(Object bean, double value) {
+                    accessor.setShort(bean, (short) (int) value);
+                }
+            };
+        }
+        if (type == Float.class || type == float.class) {
+            return new NumericDecoder(accessor) {
+                @Override
+                void decodeNumber(Object bean, double value) {
+                    accessor.setFloat(bean, (float) value);
+                }
+            };
+        }
+        if (type == Date.class) {
+            return new NumericDecoder(accessor) {
+                @Override
+                void decodeNumber(Object bean, double value) {
+                    accessor.set(bean, DateUtil.getJavaDate(value));
+                }
+            };
+        }
+        if (type == Character.class || type == char.class) {
+            return new NumericDecoder(accessor) {
+                @Override
+                void decodeNumber(Object bean, double value) {
+                    decodeText(bean, String.valueOf(value));
+                }
+
+                @Override
+                void decodeText(Object bean, String value) {
+                    accessor.setChar(bean, value.charAt(0));
+                }
+            };
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return new NumericDecoder(accessor) {
+                @Override
+                void decodeNumber(Object bean, double value) {
+                    accessor.setBoolean(bean, value != 0);
+                }
+
+                @Override
+                void decodeText(Object bean, String value) {
+                    accessor.setBoolean(bean, Boolean.parseBoolean(value.trim()));
+                }
+
+                @Override
+                void decodeBoolean(Object bean, boolean value) {
+                    accessor.setBoolean(bean, value);
+                }
+            };
+        }
+        if (type == BigDecimal.class) {
+            return new BigDecimalDecoder(accessor);
+        }
+        return null;
+    }
+
+    /**
+     * Reads a cell value as a Boolean, a Double or a String, the latter for a
+     * numeric cell read into a String field.
+     */
+    static Object readValue(Cell cell, Class<?> type) {
+        if (cell == null) return null;
+
+        switch (cell.getCellType()) {
+            case Cell.CELL_TYPE_BOOLEAN:
+                return cell.getBooleanCellValue();
+            case Cell.CELL_TYPE_NUMERIC:
+                if (isStringByFeildType(type)) {
+                    return numericText(cell);
+                }
+                return cell.getNumericCellValue();
+            default:
+                return cell.getStringCellValue();
+        }
+    }
+
+    /**
+     * Reads a numeric cell as the same text it would have if its type was
+     * changed to string, without actually changing the cell. Keeps reading
+     * free of side effects so rows can be read concurrently.
+     */
+    static String numericText(Cell cell) {
+        if (cell instanceof XSSFCell) {
+            return ((XSSFCell) cell).getRawValue();
+        }
+        return NumberToTextConverter.toText(cell.getNumericCellValue());
+    }
+
+    /**
+     * Decoder of number like fields. Text cells are parsed as numbers, boolean
+     * cells are rejected the way the text "true" or "false" would be.
+     */
+    private abstract static class NumericDecoder extends CellDecoder {
+
+        final FieldAccessor accessor;
+
+        NumericDecoder(FieldAccessor accessor) {
+            this.accessor = accessor;
+        }
+
+        abstract void decodeNumber(Object bean, double value);
+
+        void decodeText(Object bean, String value) {
+            decodeNumber(bean, Double.parseDouble(value));
+        }
+
+        void decodeBoolean(Object bean, boolean value) {
+            decodeText(bean, String.valueOf(value));
+        }
+
+        @Override
+        final void decode(Object bean, Cell cell) {
+            switch (cell.getCellType()) {
+                case Cell.CELL_TYPE_NUMERIC:
+                    decodeNumber(bean, cell.getNumericCellValue());
+                    break;
+                case Cell.CELL_TYPE_BOOLEAN:
+                    decodeBoolean(bean, cell.getBooleanCellValue());
+                    break;
+                default:
+                    decodeText(bean, cell.getStringCellValue());
+            }
+        }
+
+        @Override
+        final void decode(Object bean, XSSFRowCursor cursor, int i) {
+            if (cursor.isNumeric(i)) {
+                decodeNumber(bean, cursor.getDouble(i));
+            } else if (cursor.isBoolean(i)) {
+                decodeBoolean(bean, cursor.getBoolean(i));
+            } else {
+                decodeText(bean, cursor.getText(i));
+            }
+        }
+    }
+
+    private static final class StringDecoder extends CellDecoder {
+
+        private final FieldAccessor accessor;
+
+        StringDecoder(FieldAccessor accessor) {
+            this.accessor = accessor;
+        }
+
+        @Override
+        void decode(Object bean, Cell cell) {
+            switch (cell.getCellType()) {
+                case Cell.CELL_TYPE_NUMERIC:
+                    accessor.set(bean, numericText(cell));
+                    break;
+                case Cell.CELL_TYPE_BOOLEAN:
+                    accessor.set(bean, String.valueOf(cell.getBooleanCellValue()));
+                    break;
+                default:
+                    accessor.set(bean, cell.getStringCellValue());
+            }
+        }
+
+        @Override
+        void decode(Object bean, XSSFRowCursor cursor, int i) {
+            if (cursor.isBoolean(i)) {
+                accessor.set(bean, String.valueOf(cursor.getBoolean(i)));
+            } else {
+                accessor.set(bean, cursor.getText(i));
+            }
+        }
+    }
+
+    /**
+     * Reads numbers from their text representation so that decimal values are
+     * not rounded through a double.
+     */
+    private static final class BigDecimalDecoder extends CellDecoder {
+
+        private final FieldAccessor accessor;
+
+        BigDecimalDecoder(FieldAccessor accessor) {
+            this.accessor = accessor;
+        }
+
+        @Override
+        void decode(Object bean, Cell cell) {
+            switch (cell.getCellType()) {
+                case Cell.CELL_TYPE_NUMERIC:
+                    accessor.set(bean, new BigDecimal(numericText(cell)));
+                    break;
+                case Cell.CELL_TYPE_BOOLEAN:
+                    throw new NumberFormatException(String.valueOf(cell.getBooleanCellValue()));
+                default:
+                    accessor.set(bean, new BigDecimal(cell.getStringCellValue().trim()));
+            }
+        }
+
+        @Override
+        void decode(Object bean, XSSFRowCursor cursor, int i) {
+            if (cursor.isBoolean(i)) {
+                throw new NumberFormatException(String.valueOf(cursor.getBoolean(i)));
+            }
+            accessor.set(bean, new BigDecimal(cursor.getText(i).trim()));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.reader;
+
+/**
+ * Header row of a sheet resolved against a bean, built once per read. Maps
+ * every cell index of the sheet to the decoder of the bean column it is read
+ * into, of the {@link com.ebay.xcelite.annotations.AnyColumn AnyColumn} map, or
+ * to nothing, so rows are decoded by walking only the cells they actually hold.
+ *
+ * @since 1.0.6
+ */
+final class HeaderPlan {
+
+    private final CellDecoder[] decoders;
+
+    /**
+     * @param header    the header column names indexed by cell index, null for
+     *                  blank header cells
+     * @param rowMapper the mapper the header is resolved with
+     */
+    HeaderPlan(String[] header, BeanRowMapper<?> rowMapper) {
+        int[] columnIndexes = rowMapper.getColumnIndexes(header);
+        decoders = new CellDecoder[header.length];
+        for (int i = 0; i < header.length; i++) {
+            if (columnIndexes[i] != BeanRowMapper.UNMAPPED) {
+                decoders[i] = rowMapper.getDecoder(columnIndexes[i], header[i]);
+            }
+        }
+    }
+
+    /**
+     * Gets the decoder of the cell at the specified index.
+     *
+     * @param cellIndex the zero based cell index
+     * @return the decoder, or null if the cell is not read into the bean
+     */
+    CellDecoder getDecoder(int cellIndex) {
+        return cellIndex < decoders.length ? decoders[cellIndex] : null;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.reader;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Spliterator over a range of row indexes of a loaded sheet. Splitting
+ * halves the remaining range, so a parallel stream decodes disjoint row
+ * ranges concurrently while still encountering rows in sheet order.
+ *
+ * @since 1.0.6
+ */
+final class RowRangeSpliterator<T> implements Spliterator<T> {
+
+    private static final int MIN_SPLIT_SIZE = 128;
+
+    private final Sheet sheet;
+    private final Function<Row, T> rowReader;
+    private final int end;
+    private int index;
+
+    /**
+     * @param sheet     the sheet to read
+     * @param start     first row index to read, inclusive
+     * @param end       last row index to read, exclusive
+     * @param rowReader reads a row, returns null for rows which should be skipped
+     */
+    RowRangeSpliterator(Sheet sheet, int start, int end, Function<Row, T> rowReader) {
+        this.sheet = sheet;
+        this.index = start;
+        this.end = end;
+        this.rowReader = rowReader;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        while (index < end) {
+            Row row = sheet.getRow(index++);
+            if (row == null) continue;
+            T object = rowReader.apply(row);
+            if (object != null) {
+                action.accept(object);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        int remaining = end - index;
+        if (remaining < MIN_SPLIT_SIZE) return null;
+        int mid = index + remaining / 2;
+        Spliterator<T> prefix = new RowRangeSpliterator<T>(sheet, index, mid, rowReader);
+        index = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Math.max(0, end - index);
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+}
@@ -18,8 +18,10 @@ package com.ebay.xcelite.reader;
 import com.ebay.xcelite.sheet.XceliteSheet;
 
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
-public interface SheetReader<T> {
+public interface SheetReader<T> extends Iterable<T> {
 
     /**
      * Reads the sheet and returns a collection of the specified type.
@@ -28,6 +30,35 @@ public interface SheetReader<T> {
      */
     Collection<T> read();
 
+    /**
+     * Reads the sheet and hands the objects to the handler in batches of
+     * batchSize objects, the last batch may be smaller. Only a single batch is
+     * held in memory at a time.
+     *
+     * @param batchSize the number of objects per batch
+     * @param handler   the handler to receive the batches
+     */
+    void read(int batchSize, BatchHandler<T> handler);
+
+    /**
+     * Lazily reads the sheet. Each row is deserialized and passed through the
+     * row post processors only when the iterator is advanced to it, so the
+     * sheet is never materialized as a whole.
+     *
+     * @return iterator over the objects of the specified type
+     */
+    @Override
+    Iterator<T> iterator();
+
+    /**
+     * Lazily reads the sheet as a sequential stream, same as {@link #iterator()}.
+     * Close the stream if it is not fully consumed, in order to release the
+     * resources held by streaming readers.
+     *
+     * @return stream of the objects of the specified type
+     */
+    Stream<T> stream();
+
     /**
      * Whether to skip the first row or not when reading the sheet.
      *
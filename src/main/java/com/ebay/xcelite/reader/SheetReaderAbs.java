@@ -15,15 +15,17 @@
 */
 package com.ebay.xcelite.reader;
 
+import com.ebay.xcelite.exceptions.XceliteException;
 import com.ebay.xcelite.sheet.XceliteSheet;
 import com.google.common.collect.Lists;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 
-import java.util.Iterator;
-import java.util.List;
-
-import static com.ebay.xcelite.column.ColumnsIdentifier.*;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Class description...
@@ -46,10 +48,74 @@ public abstract class SheetReaderAbs<T> implements SheetReader<T> {
     protected boolean isBlankRow(Row row) {
         Iterator<Cell> cellIterator = row.cellIterator();
         while (cellIterator.hasNext()) {
-            Object value = readValueFromCell(cellIterator.next());
+            Cell cell = cellIterator.next();
+            switch (cell.getCellType()) {
+                case Cell.CELL_TYPE_BLANK:
+                    break;
+                case Cell.CELL_TYPE_NUMERIC:
+                case Cell.CELL_TYPE_BOOLEAN:
+                    return false;
+                default:
+                    if (!cell.getStringCellValue().isEmpty()) return false;
+            }
+        }
+        return true;
+    }
 
-            if (value != null && !String.valueOf(value).isEmpty())
-                return false;
+    @Override
+    public Collection<T> read() {
+        return Lists.newArrayList(iterator());
+    }
+
+    @Override
+    public void read(int batchSize, BatchHandler<T> handler) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        Iterator<T> iterator = iterator();
+        try {
+            List<T> batch = new ArrayList<T>(batchSize);
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize) {
+                    handler.handle(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                handler.handle(batch);
+            }
+        } finally {
+            close(iterator);
+        }
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Releases the resources held by iterators of streaming readers.
+     */
+    protected void close(Iterator<T> iterator) {
+        if (!(iterator instanceof Closeable)) return;
+        try {
+            ((Closeable) iterator).close();
+        } catch (IOException e) {
+            throw new XceliteException(e);
+        }
+    }
+
+    /**
+     * Runs the registered row post processors on the specified object.
+     *
+     * @param object the object which was created from row
+     * @return true to keep the object, false to discard it
+     */
+    protected boolean postProcess(T object) {
+        for (RowPostProcessor<T> rowPostProcessor : rowPostProcessors) {
+            if (!rowPostProcessor.process(object)) return false;
         }
         return true;
     }
@@ -59,26 +125,7 @@ public abstract class SheetReaderAbs<T> implements SheetReader<T> {
     }
 
     protected Object readValueFromCell(Cell cell, Class<?> type) {
-        if (cell == null) return null;
-
-        Object cellValue = null;
-
-        switch (cell.getCellType()) {
-            case Cell.CELL_TYPE_BOOLEAN:
-                cellValue = cell.getBooleanCellValue();
-                break;
-            case Cell.CELL_TYPE_NUMERIC:
-                if (isStringByFeildType(type)) {
-                    cell.setCellType(Cell.CELL_TYPE_STRING);
-                    cellValue = cell.getStringCellValue();
-                } else {
-                    cellValue = cell.getNumericCellValue();
-                }
-                break;
-            default:
-                cellValue = cell.getStringCellValue();
-        }
-        return cellValue;
+        return CellDecoder.readValue(cell, type);
     }
 
     @Override
@@ -19,10 +19,9 @@ import com.ebay.xcelite.sheet.XceliteSheet;
 import com.google.common.collect.Lists;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
 
-import java.util.Collection;
-import java.util.Iterator;
-import java.util.List;
+import java.util.*;
 
 /**
  * Class description...
@@ -37,36 +36,43 @@ public class SimpleSheetReader extends SheetReaderAbs<Collection<Object>> {
     }
 
     @Override
-    public Collection<Collection<Object>> read() {
-        List<Collection<Object>> rows = Lists.newArrayList();
-        Iterator<Row> rowIterator = sheet.getNativeSheet().iterator();
-        boolean firstRow = true;
-        while (rowIterator.hasNext()) {
-            Row excelRow = rowIterator.next();
-            if (firstRow && skipHeader) {
-                firstRow = false;
-                continue;
-            }
-            List<Object> row = Lists.newArrayList();
-            Iterator<Cell> cellIterator = excelRow.cellIterator();
-            boolean blankRow = true;
-            while (cellIterator.hasNext()) {
-                Object value = readValueFromCell(cellIterator.next());
-                if (blankRow && value != null && !String.valueOf(value).isEmpty()) {
-                    blankRow = false;
-                }
-                row.add(value);
-            }
-            if (blankRow) continue;
-            boolean keepRow = true;
-            for (RowPostProcessor<Collection<Object>> rowPostProcessor : rowPostProcessors) {
-                keepRow = rowPostProcessor.process(row);
-                if (!keepRow) break;
-            }
-            if (keepRow) {
-                rows.add(row);
+    public Iterator<Collection<Object>> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Creates a spliterator over the rows of the sheet. It splits by row
+     * ranges, so rows are read concurrently when the reader is used as a
+     * parallel stream. Row post processors must be thread safe in that case.
+     */
+    @Override
+    public Spliterator<Collection<Object>> spliterator() {
+        Sheet nativeSheet = sheet.getNativeSheet();
+        int firstRow = nativeSheet.getFirstRowNum();
+        if (skipHeader) firstRow++;
+        return new RowRangeSpliterator<Collection<Object>>(nativeSheet, firstRow, nativeSheet.getLastRowNum() + 1,
+                excelRow -> {
+                    Collection<Object> row = readRow(excelRow);
+                    return row != null && postProcess(row) ? row : null;
+                });
+    }
+
+    /**
+     * Reads the cell values of the specified row.
+     *
+     * @return the row values, or null if the row is blank
+     */
+    private Collection<Object> readRow(Row excelRow) {
+        List<Object> row = Lists.newArrayList();
+        Iterator<Cell> cellIterator = excelRow.cellIterator();
+        boolean blankRow = true;
+        while (cellIterator.hasNext()) {
+            Object value = readValueFromCell(cellIterator.next());
+            if (blankRow && value != null && !String.valueOf(value).isEmpty()) {
+                blankRow = false;
             }
+            row.add(value);
         }
-        return rows;
+        return blankRow ? null : row;
     }
 }
@@ -0,0 +1,130 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.reader;
+
+import com.ebay.xcelite.exceptions.XceliteException;
+import com.ebay.xcelite.sheet.StreamingXceliteSheet;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Sets;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Bean reader which parses the sheet XML of an xlsx file row by row instead
+ * of walking a fully loaded workbook. Only the current row and the header are
+ * held in memory while reading, so heap usage does not grow with the number
+ * of rows in the sheet.
+ * <p/>
+ * Iterators returned by this reader hold the sheet stream open until they
+ * are exhausted; close them (or the stream returned by {@link #stream()}) when
+ * stopping early.
+ *
+ * @since 1.0.6
+ */
+public class StreamingBeanSheetReader<T> extends SheetReaderAbs<T> {
+
+    private final StreamingXceliteSheet streamingSheet;
+    private final BeanRowMapper<T> rowMapper;
+
+    public StreamingBeanSheetReader(StreamingXceliteSheet sheet, Class<T> type) {
+        super(sheet, false);
+        this.streamingSheet = sheet;
+        rowMapper = new BeanRowMapper<T>(type);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        XSSFRowCursor cursor = new XSSFRowCursor(streamingSheet.openSheetData(), streamingSheet.getSharedStrings());
+        try {
+            return new RowIterator(cursor, buildHeader(cursor));
+        } catch (RuntimeException e) {
+            cursor.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Stream<T> stream() {
+        Iterator<T> iterator = iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(() -> close(iterator));
+    }
+
+    private T readRow(XSSFRowCursor cursor, HeaderPlan plan) {
+        T object = rowMapper.newInstance();
+        for (int i = 0; i < cursor.size(); i++) {
+            CellDecoder decoder = plan.getDecoder(cursor.getColumnIndex(i));
+            if (decoder == null) continue;
+            decoder.decode(object, cursor, i);
+        }
+        return object;
+    }
+
+    private HeaderPlan buildHeader(XSSFRowCursor cursor) {
+        if (!cursor.next() || cursor.size() == 0) {
+            throw new XceliteException("First row in sheet is empty. First row must contain header");
+        }
+        String[] header = new String[cursor.getColumnIndex(cursor.size() - 1) + 1];
+        Set<String> names = Sets.newHashSet();
+        for (int i = 0; i < cursor.size(); i++) {
+            String name = String.valueOf(cursor.getValue(i, String.class));
+            if (names.add(name)) {
+                header[cursor.getColumnIndex(i)] = name;
+            }
+        }
+        return new HeaderPlan(header, rowMapper);
+    }
+
+    private class RowIterator extends AbstractIterator<T> implements Closeable {
+
+        private final XSSFRowCursor cursor;
+        private final HeaderPlan plan;
+
+        RowIterator(XSSFRowCursor cursor, HeaderPlan plan) {
+            this.cursor = cursor;
+            this.plan = plan;
+        }
+
+        @Override
+        protected T computeNext() {
+            try {
+                while (cursor.next()) {
+                    if (cursor.isBlankRow()) continue;
+                    T object = readRow(cursor, plan);
+                    if (postProcess(object)) {
+                        return object;
+                    }
+                }
+            } catch (RuntimeException e) {
+                cursor.close();
+                throw e;
+            }
+            cursor.close();
+            return endOfData();
+        }
+
+        @Override
+        public void close() {
+            cursor.close();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.reader;
+
+import com.ebay.xcelite.sheet.StreamingXceliteSheet;
+import com.google.common.collect.AbstractIterator;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Simple reader which parses the sheet XML of an xlsx file row by row, the
+ * streaming counterpart of {@link SimpleSheetReader}. Each row is read as the
+ * values of its non blank cells, only the current row is held in memory.
+ * <p/>
+ * Iterators returned by this reader hold the sheet stream open until they
+ * are exhausted; close them (or the stream returned by {@link #stream()}) when
+ * stopping early.
+ *
+ * @since 1.0.6
+ */
+public class StreamingSimpleSheetReader extends SheetReaderAbs<Collection<Object>> {
+
+    private final StreamingXceliteSheet streamingSheet;
+
+    public StreamingSimpleSheetReader(StreamingXceliteSheet sheet) {
+        super(sheet, false);
+        this.streamingSheet = sheet;
+    }
+
+    @Override
+    public Iterator<Collection<Object>> iterator() {
+        XSSFRowCursor cursor = new XSSFRowCursor(streamingSheet.openSheetData(), streamingSheet.getSharedStrings());
+        try {
+            if (skipHeader) cursor.next();
+            return new RowIterator(cursor);
+        } catch (RuntimeException e) {
+            cursor.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Stream<Collection<Object>> stream() {
+        Iterator<Collection<Object>> iterator = iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(() -> close(iterator));
+    }
+
+    private Collection<Object> readRow(XSSFRowCursor cursor) {
+        List<Object> row = new ArrayList<Object>(cursor.size());
+        for (int i = 0; i < cursor.size(); i++) {
+            row.add(cursor.getValue(i, null));
+        }
+        return row;
+    }
+
+    private class RowIterator extends AbstractIterator<Collection<Object>> implements Closeable {
+
+        private final XSSFRowCursor cursor;
+
+        RowIterator(XSSFRowCursor cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        protected Collection<Object> computeNext() {
+            try {
+                while (cursor.next()) {
+                    if (cursor.isBlankRow()) continue;
+                    Collection<Object> row = readRow(cursor);
+                    if (postProcess(row)) {
+                        return row;
+                    }
+                }
+            } catch (RuntimeException e) {
+                cursor.close();
+                throw e;
+            }
+            cursor.close();
+            return endOfData();
+        }
+
+        @Override
+        public void close() {
+            cursor.close();
+        }
+    }
+}
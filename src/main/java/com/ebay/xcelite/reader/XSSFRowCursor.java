@@ -0,0 +1,285 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.reader;
+
+import com.ebay.xcelite.exceptions.XceliteException;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static com.ebay.xcelite.column.ColumnsIdentifier.isStringByFeildType;
+
+/**
+ * Forward only cursor over the rows of a single xlsx sheet part. The sheet XML
+ * is pulled one element at a time, so only the current row is kept in memory
+ * no matter how many rows the sheet holds. Cell buffers are reused between
+ * rows.
+ *
+ * @since 1.0.6
+ */
+final class XSSFRowCursor implements Closeable {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    static {
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private static final byte TYPE_STRING = 0;
+    private static final byte TYPE_NUMERIC = 1;
+    private static final byte TYPE_BOOLEAN = 2;
+
+    private final InputStream in;
+    private final XMLStreamReader xml;
+    private final ReadOnlySharedStringsTable sharedStrings;
+
+    private boolean closed;
+    private int rowIndex = -1;
+    private int size;
+    private int[] columns = new int[16];
+    private byte[] types = new byte[16];
+    private String[] values = new String[16];
+
+    XSSFRowCursor(InputStream in, ReadOnlySharedStringsTable sharedStrings) {
+        this.in = in;
+        this.sharedStrings = sharedStrings;
+        try {
+            xml = XML_INPUT_FACTORY.createXMLStreamReader(in);
+        } catch (XMLStreamException e) {
+            closeQuietly();
+            throw new XceliteException(e);
+        }
+    }
+
+    /**
+     * Moves the cursor to the next row found in the sheet.
+     *
+     * @return true if a row was read, false if the end of the sheet was reached
+     */
+    boolean next() {
+        size = 0;
+        try {
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                    String r = xml.getAttributeValue(null, "r");
+                    rowIndex = r == null ? rowIndex + 1 : Integer.parseInt(r) - 1;
+                    readRow();
+                    return true;
+                }
+            }
+            return false;
+        } catch (XMLStreamException e) {
+            throw new XceliteException(e);
+        }
+    }
+
+    /**
+     * Gets the zero based index of the current row.
+     */
+    int getRowIndex() {
+        return rowIndex;
+    }
+
+    /**
+     * Gets the number of non blank cells in the current row.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the zero based column index of the i-th non blank cell in the current row.
+     */
+    int getColumnIndex(int i) {
+        return columns[i];
+    }
+
+    /**
+     * Reads the value of the i-th non blank cell in the current row the same
+     * way {@link SheetReaderAbs#readValueFromCell(org.apache.poi.ss.usermodel.Cell, Class)}
+     * does for a native cell.
+     *
+     * @param i    the cell position in the current row
+     * @param type the field type to read the value for, may be null
+     * @return Boolean, Double or String cell value
+     */
+    Object getValue(int i, Class<?> type) {
+        switch (types[i]) {
+            case TYPE_BOOLEAN:
+                return getBoolean(i);
+            case TYPE_NUMERIC:
+                if (isStringByFeildType(type)) {
+                    return values[i];
+                }
+                return Double.valueOf(values[i]);
+            default:
+                return values[i];
+        }
+    }
+
+    /**
+     * Whether the i-th non blank cell in the current row is numeric.
+     */
+    boolean isNumeric(int i) {
+        return types[i] == TYPE_NUMERIC;
+    }
+
+    /**
+     * Whether the i-th non blank cell in the current row is boolean.
+     */
+    boolean isBoolean(int i) {
+        return types[i] == TYPE_BOOLEAN;
+    }
+
+    /**
+     * Gets the value of the i-th non blank cell, which must be numeric.
+     */
+    double getDouble(int i) {
+        return Double.parseDouble(values[i]);
+    }
+
+    /**
+     * Gets the value of the i-th non blank cell, which must be boolean.
+     */
+    boolean getBoolean(int i) {
+        return "1".equals(values[i]) || "true".equalsIgnoreCase(values[i]);
+    }
+
+    /**
+     * Gets the text of the i-th non blank cell as stored in the sheet, that is
+     * the raw number for a numeric cell. Must not be used for boolean cells.
+     */
+    String getText(int i) {
+        return values[i];
+    }
+
+    /**
+     * Whether the current row holds no value other than empty strings.
+     */
+    boolean isBlankRow() {
+        for (int i = 0; i < size; i++) {
+            if (!values[i].isEmpty()) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new XceliteException(e);
+        } finally {
+            closeQuietly();
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            in.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void readRow() throws XMLStreamException {
+        int column = -1;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                return;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                String ref = xml.getAttributeValue(null, "r");
+                column = ref == null ? column + 1 : columnIndexOf(ref);
+                readCell(column, xml.getAttributeValue(null, "t"));
+            }
+        }
+    }
+
+    private void readCell(int column, String cellType) throws XMLStreamException {
+        String value = null;
+        StringBuilder inlineString = null;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                break;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) continue;
+            String name = xml.getLocalName();
+            if ("v".equals(name)) {
+                value = xml.getElementText();
+            } else if ("t".equals(name)) {
+                if (inlineString == null) inlineString = new StringBuilder();
+                inlineString.append(xml.getElementText());
+            }
+        }
+
+        byte type;
+        if (cellType == null || "n".equals(cellType)) {
+            type = TYPE_NUMERIC;
+        } else if ("b".equals(cellType)) {
+            type = TYPE_BOOLEAN;
+        } else if ("s".equals(cellType)) {
+            type = TYPE_STRING;
+            if (value != null) value = sharedStrings.getEntryAt(Integer.parseInt(value));
+        } else if ("inlineStr".equals(cellType)) {
+            type = TYPE_STRING;
+            if (inlineString != null) value = inlineString.toString();
+        } else {
+            type = TYPE_STRING;
+        }
+        if (value == null || (type != TYPE_STRING && value.isEmpty())) return;
+        add(column, type, value);
+    }
+
+    private void add(int column, byte type, String value) {
+        if (size == columns.length) {
+            int capacity = size * 2;
+            int[] newColumns = new int[capacity];
+            byte[] newTypes = new byte[capacity];
+            String[] newValues = new String[capacity];
+            System.arraycopy(columns, 0, newColumns, 0, size);
+            System.arraycopy(types, 0, newTypes, 0, size);
+            System.arraycopy(values, 0, newValues, 0, size);
+            columns = newColumns;
+            types = newTypes;
+            values = newValues;
+        }
+        columns[size] = column;
+        types[size] = type;
+        values[size] = value;
+        size++;
+    }
+
+    private static int columnIndexOf(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            char c = cellReference.charAt(i);
+            if (c < 'A' || c > 'Z') break;
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.sheet;
+
+import com.ebay.xcelite.exceptions.XceliteException;
+import com.ebay.xcelite.reader.SheetReader;
+import com.ebay.xcelite.reader.StreamingBeanSheetReader;
+import com.ebay.xcelite.reader.StreamingSimpleSheetReader;
+import com.ebay.xcelite.writer.SheetWriter;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+
+/**
+ * Read only sheet of an xlsx file opened by
+ * {@link com.ebay.xcelite.StreamingXcelite StreamingXcelite}. The sheet data is
+ * never loaded as a whole, hence there is no native sheet and no writers:
+ * {@link #getNativeSheet()} and the writer getters throw
+ * UnsupportedOperationException. Both bean and simple readers parse the
+ * sheet row by row.
+ *
+ * @since 1.0.6
+ */
+public class StreamingXceliteSheet implements XceliteSheet {
+
+    private final String sheetName;
+    private final PackagePart sheetPart;
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final File file;
+
+    public StreamingXceliteSheet(String sheetName, PackagePart sheetPart, ReadOnlySharedStringsTable sharedStrings,
+                                 File file) {
+        this.sheetName = sheetName;
+        this.sheetPart = sheetPart;
+        this.sharedStrings = sharedStrings;
+        this.file = file;
+    }
+
+    /**
+     * Opens a new stream over the sheet XML. The caller is responsible for
+     * closing it.
+     *
+     * @return the sheet XML stream
+     */
+    public InputStream openSheetData() {
+        try {
+            return sheetPart.getInputStream();
+        } catch (IOException e) {
+            throw new XceliteException(e);
+        }
+    }
+
+    public ReadOnlySharedStringsTable getSharedStrings() {
+        return sharedStrings;
+    }
+
+    public String getSheetName() {
+        return sheetName;
+    }
+
+    @Override
+    public <T> SheetReader<T> getBeanReader(Class<T> type) {
+        return new StreamingBeanSheetReader<T>(this, type);
+    }
+
+    @Override
+    public <T> SheetWriter<T> getBeanWriter(Class<T> type) {
+        throw new UnsupportedOperationException("Streaming sheets are read only");
+    }
+
+    @Override
+    public SheetWriter<Collection<Object>> getSimpleWriter() {
+        throw new UnsupportedOperationException("Streaming sheets are read only");
+    }
+
+    @Override
+    public SheetReader<Collection<Object>> getSimpleReader() {
+        return new StreamingSimpleSheetReader(this);
+    }
+
+    @Override
+    public Sheet getNativeSheet() {
+        throw new UnsupportedOperationException("Streaming sheets are not loaded into a native sheet");
+    }
+
+    @Override
+    public File getFile() {
+        return file;
+    }
+}
@@ -40,5 +40,11 @@ public interface XceliteSheet {
 
     Sheet getNativeSheet();
 
+    /**
+     * Gets the file the workbook was opened from.
+     *
+     * @return the file, or null if the workbook was created in memory or opened
+     * from a stream, a byte array or a buffer
+     */
     File getFile();
 }
@@ -15,97 +15,46 @@
 */
 package com.ebay.xcelite.styles;
 
-import org.apache.poi.hssf.usermodel.HSSFCellStyle;
-import org.apache.poi.hssf.util.HSSFColor;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFColor;
-
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * The cell styles used when writing to a workbook. Styles are taken from the
+ * workbook's pool in {@link CellStylesBank}, so each distinct style is
+ * created once per workbook however many cells or writers use it.
+ */
 public final class CellStyles {
 
-    private final String DEFAULT_DATE_FORMAT = "ddd mmm dd hh:mm:ss yyy";
+    private static final String DEFAULT_DATE_FORMAT = "ddd mmm dd hh:mm:ss yyy";
+
+    private static final StyleKey DATE = new StyleKey(DEFAULT_DATE_FORMAT, (short) 0, true, true, true);
 
     private final Workbook wb;
-    private CellStyle headerStyle;
-    private CellStyle normalStyle;
-    private CellStyle dateStyle;
+    private final StylePool pool;
 
     public CellStyles(Workbook wb) {
-        this.wb = wb;
-        initStyles();
-    }
-
-    private void initStyles() {
-        createHeaderStyle();
-        createDateFormatStyle();
-        createNormalStyle();
+        this(wb, CellStylesBank.getPool(wb));
     }
 
-    private void addAlignmentStyle(CellStyle style) {
-        style.setAlignment(CellStyle.ALIGN_CENTER);
-        style.setVerticalAlignment(CellStyle.ALIGN_CENTER);
-    }
-
-    private void addColorStyle(CellStyle style) {
-        style.setFillPattern(CellStyle.SOLID_FOREGROUND);
-        style.setFillForegroundColor(IndexedColors.YELLOW.getIndex());
-    }
-
-    private void addBorderStyle(CellStyle style) {
-        style.setBorderLeft(CellStyle.BORDER_THIN);
-        style.setBorderRight(CellStyle.BORDER_THIN);
-        style.setBorderTop(CellStyle.BORDER_THIN);
-        style.setBorderBottom(CellStyle.BORDER_THIN);
-    }
-
-    private void addFontStyle(CellStyle style, short boldweight) {
-        Font font = wb.createFont();
-        font.setFontName("宋体");
-        font.setBoldweight(boldweight);
-        style.setFont(font);
-    }
-
-    private void createNormalStyle() {
-        normalStyle = wb.createCellStyle();
-        addFontStyle(normalStyle, Font.BOLDWEIGHT_NORMAL);
-        addAlignmentStyle(normalStyle);
-        addBorderStyle(normalStyle);
-    }
-
-    private void createHeaderStyle() {
-        headerStyle = wb.createCellStyle();
-        addFontStyle(headerStyle, Font.BOLDWEIGHT_BOLD);
-        addAlignmentStyle(headerStyle);
-        addBorderStyle(headerStyle);
-        addColorStyle(headerStyle);
-    }
-
-    private void createDateFormatStyle() {
-        dateStyle = wb.createCellStyle();
-        DataFormat df = wb.createDataFormat();
-        dateStyle.setDataFormat(df.getFormat(DEFAULT_DATE_FORMAT));
-
-        addAlignmentStyle(dateStyle);
-        addBorderStyle(dateStyle);
-        addColorStyle(dateStyle);
+    CellStyles(Workbook wb, StylePool pool) {
+        this.wb = wb;
+        this.pool = pool;
     }
 
     public CellStyle getHeaderStyle() {
-        return headerStyle;
+        return pool.getStyle(wb, StyleKey.HEADER);
     }
 
     public CellStyle getDateStyle() {
-        return dateStyle;
+        return pool.getStyle(wb, DATE);
     }
 
     public CellStyle getCustomDataFormatStyle(String dataFormat) {
-        CellStyle cellStyle = wb.createCellStyle();
-        DataFormat df = wb.createDataFormat();
-        cellStyle.setDataFormat(df.getFormat(dataFormat));
-        return cellStyle;
+        return pool.getStyle(wb, new StyleKey(dataFormat, (short) 0, false, false, false));
     }
 
     public CellStyle getNormalStyle() {
-        return normalStyle;
+        return pool.getStyle(wb, StyleKey.NORMAL);
     }
 
     public Workbook getWorkbook() {
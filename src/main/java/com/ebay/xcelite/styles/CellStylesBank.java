@@ -15,31 +15,38 @@
 */
 package com.ebay.xcelite.styles;
 
-import com.google.common.collect.Maps;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import org.apache.poi.ss.usermodel.Workbook;
 
-import java.util.Map;
-
 /**
- * Class description...
+ * Holds the style pool of every workbook written to. Workbooks are weakly
+ * referenced, so a pool goes away together with its workbook, and the pools
+ * can be used from concurrent writers.
  *
  * @author kharel (kharel@ebay.com)
  * @creation_date Sep 9, 2013
  */
 public final class CellStylesBank {
 
-    private static Map<Workbook, CellStyles> cellStylesMap;
+    private static final LoadingCache<Workbook, StylePool> POOLS = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build(new CacheLoader<Workbook, StylePool>() {
+                @Override
+                public StylePool load(Workbook workbook) {
+                    return new StylePool();
+                }
+            });
 
-    static {
-        cellStylesMap = Maps.newHashMap();
+    private CellStylesBank() {
     }
 
     public static CellStyles get(Workbook workbook) {
-        if (cellStylesMap.containsKey(workbook)) {
-            return cellStylesMap.get(workbook);
-        }
-        CellStyles cellStyles = new CellStyles(workbook);
-        cellStylesMap.put(workbook, cellStyles);
-        return cellStyles;
+        return new CellStyles(workbook, getPool(workbook));
+    }
+
+    static StylePool getPool(Workbook workbook) {
+        return POOLS.getUnchecked(workbook);
     }
 }
@@ -0,0 +1,105 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.styles;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * The attributes a pooled cell style is made of. Two keys with the same
+ * attributes describe the same style, which is created only once per
+ * workbook.
+ *
+ * @since 1.0.6
+ */
+final class StyleKey {
+
+    static final StyleKey HEADER = new StyleKey(null, Font.BOLDWEIGHT_BOLD, true, true, true);
+    static final StyleKey NORMAL = new StyleKey(null, Font.BOLDWEIGHT_NORMAL, true, true, false);
+
+    private final String dataFormat;
+    private final short boldweight;
+    private final boolean centered;
+    private final boolean bordered;
+    private final boolean filled;
+
+    /**
+     * @param dataFormat the data format, null for the general format
+     * @param boldweight the font weight, 0 for the default font
+     * @param centered   whether the content is centered
+     * @param bordered   whether the cell has thin borders
+     * @param filled     whether the cell is filled with yellow
+     */
+    StyleKey(String dataFormat, short boldweight, boolean centered, boolean bordered, boolean filled) {
+        this.dataFormat = dataFormat;
+        this.boldweight = boldweight;
+        this.centered = centered;
+        this.bordered = bordered;
+        this.filled = filled;
+    }
+
+    /**
+     * Creates the style described by this key in the workbook.
+     */
+    CellStyle create(Workbook wb, StylePool pool) {
+        CellStyle style = wb.createCellStyle();
+        if (dataFormat != null) {
+            style.setDataFormat(wb.createDataFormat().getFormat(dataFormat));
+        }
+        if (boldweight != 0) {
+            style.setFont(pool.getFont(wb, boldweight));
+        }
+        if (centered) {
+            style.setAlignment(CellStyle.ALIGN_CENTER);
+            style.setVerticalAlignment(CellStyle.ALIGN_CENTER);
+        }
+        if (bordered) {
+            style.setBorderLeft(CellStyle.BORDER_THIN);
+            style.setBorderRight(CellStyle.BORDER_THIN);
+            style.setBorderTop(CellStyle.BORDER_THIN);
+            style.setBorderBottom(CellStyle.BORDER_THIN);
+        }
+        if (filled) {
+            style.setFillPattern(CellStyle.SOLID_FOREGROUND);
+            style.setFillForegroundColor(IndexedColors.YELLOW.getIndex());
+        }
+        return style;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = dataFormat == null ? 0 : dataFormat.hashCode();
+        result = 31 * result + boldweight;
+        result = 31 * result + (centered ? 1 : 0);
+        result = 31 * result + (bordered ? 1 : 0);
+        result = 31 * result + (filled ? 1 : 0);
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof StyleKey))
+            return false;
+        StyleKey other = (StyleKey) obj;
+        return boldweight == other.boldweight && centered == other.centered && bordered == other.bordered
+                && filled == other.filled
+                && (dataFormat == null ? other.dataFormat == null : dataFormat.equals(other.dataFormat));
+    }
+}
@@ -0,0 +1,72 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.styles;
+
+import com.google.common.collect.Maps;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The styles and fonts created in a single workbook, deduplicated by their
+ * attributes. Only style and font indexes are kept, the pool holds no
+ * reference to the workbook itself so it can be weakly keyed by it.
+ *
+ * @since 1.0.6
+ */
+final class StylePool {
+
+    private final ConcurrentMap<StyleKey, Short> styles = new ConcurrentHashMap<StyleKey, Short>();
+    private final Map<Short, Short> fonts = Maps.newHashMap();
+
+    /**
+     * Gets the style described by the key, creating it in the workbook the
+     * first time it is asked for.
+     */
+    CellStyle getStyle(Workbook wb, StyleKey key) {
+        Short index = styles.get(key);
+        if (index == null) {
+            synchronized (this) {
+                index = styles.get(key);
+                if (index == null) {
+                    index = key.create(wb, this).getIndex();
+                    styles.put(key, index);
+                }
+            }
+        }
+        return wb.getCellStyleAt(index);
+    }
+
+    /**
+     * Gets the font of the specified weight. Must be called while holding the
+     * pool lock.
+     */
+    Font getFont(Workbook wb, short boldweight) {
+        Short index = fonts.get(boldweight);
+        if (index == null) {
+            Font font = wb.createFont();
+            font.setFontName("宋体");
+            font.setBoldweight(boldweight);
+            index = font.getIndex();
+            fonts.put(boldweight, index);
+        }
+        return wb.getFontAt(index);
+    }
+}
@@ -0,0 +1,167 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.utils.diff;
+
+import com.ebay.xcelite.annotations.Key;
+import com.ebay.xcelite.column.Col;
+import com.ebay.xcelite.column.ColumnsSchema;
+import com.ebay.xcelite.column.FieldAccessor;
+import com.ebay.xcelite.exceptions.XceliteException;
+import com.google.common.base.Objects;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Reads the key and compares the columns of the beans of a keyed diff.
+ *
+ * @since 1.0.6
+ */
+final class BeanColumns {
+
+    private static final HashFunction DIGEST = Hashing.murmur3_128();
+
+    private static final ClassValue<BeanColumns> ANNOTATED = new ClassValue<BeanColumns>() {
+        @Override
+        protected BeanColumns computeValue(Class<?> type) {
+            return new BeanColumns(type, null);
+        }
+    };
+
+    private final List<FieldAccessor> keyAccessors = Lists.newArrayList();
+    private final List<String> names = Lists.newArrayList();
+    private final List<FieldAccessor> accessors = Lists.newArrayList();
+    private final FieldAccessor anyColumnAccessor;
+
+    private BeanColumns(Class<?> type, String[] keyColumns) {
+        ColumnsSchema schema = ColumnsSchema.of(type);
+        Set<String> keys = keyColumns == null ? null : Sets.newHashSet(keyColumns);
+        for (Col column : schema.getColumns()) {
+            FieldAccessor accessor = schema.getFieldsMapper().getColumnAccessor(column.getFieldName());
+            boolean key = keys == null ? accessor.getField().isAnnotationPresent(Key.class)
+                    : keys.remove(column.getName());
+            if (key) {
+                keyAccessors.add(accessor);
+            } else {
+                names.add(column.getName());
+                accessors.add(accessor);
+            }
+        }
+        if (keys != null && !keys.isEmpty()) {
+            throw new XceliteException(String.format("No columns named %s in %s", keys, type.getName()));
+        }
+        if (keyAccessors.isEmpty()) {
+            throw new XceliteException(String.format("No @Key column in %s", type.getName()));
+        }
+        anyColumnAccessor = schema.getAnyColumnField() == null ? null
+                : schema.getFieldsMapper().getColumnAccessor(schema.getAnyColumnField().getName());
+    }
+
+    /**
+     * Gets the columns of the specified bean class.
+     *
+     * @param type       the bean class
+     * @param keyColumns the names of the key columns, or null to use the
+     *                   {@link Key} annotated columns
+     */
+    static BeanColumns of(Class<?> type, String[] keyColumns) {
+        return keyColumns == null ? ANNOTATED.get(type) : new BeanColumns(type, keyColumns);
+    }
+
+    List<Object> getKey(Object bean) {
+        Object[] key = new Object[keyAccessors.size()];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = keyAccessors.get(i).get(bean);
+        }
+        return Arrays.asList(key);
+    }
+
+    /**
+     * Computes a fingerprint of the columns which are not part of the key.
+     * Beans whose {@link #getChangedColumns(Object, Object) columns} do not
+     * differ have the same digest.
+     */
+    long getDigest(Object bean) {
+        Hasher hasher = DIGEST.newHasher();
+        for (FieldAccessor accessor : accessors) {
+            putValue(hasher, accessor.get(bean));
+        }
+        if (anyColumnAccessor != null) {
+            Map<?, ?> map = (Map<?, ?>) anyColumnAccessor.get(bean);
+            if (map != null) {
+                Map<String, Object> sorted = new TreeMap<String, Object>();
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    if (entry.getValue() != null) {
+                        sorted.put(String.valueOf(entry.getKey()), entry.getValue());
+                    }
+                }
+                for (Map.Entry<String, Object> entry : sorted.entrySet()) {
+                    hasher.putString(entry.getKey());
+                    putValue(hasher, entry.getValue());
+                }
+            }
+        }
+        return hasher.hash().asLong();
+    }
+
+    private static void putValue(Hasher hasher, Object value) {
+        if (value == null) {
+            hasher.putByte((byte) 0);
+        } else {
+            hasher.putByte((byte) 1).putString(value.getClass().getName()).putString(value.toString());
+        }
+        hasher.putChar('\u0000');
+    }
+
+    /**
+     * Gets the names of the columns whose values differ between two beans of
+     * the same key.
+     */
+    List<String> getChangedColumns(Object a, Object b) {
+        List<String> changed = null;
+        for (int i = 0; i < accessors.size(); i++) {
+            FieldAccessor accessor = accessors.get(i);
+            if (!Objects.equal(accessor.get(a), accessor.get(b))) {
+                if (changed == null) changed = Lists.newArrayList();
+                changed.add(names.get(i));
+            }
+        }
+        if (anyColumnAccessor != null) {
+            Map<?, ?> mapA = (Map<?, ?>) anyColumnAccessor.get(a);
+            Map<?, ?> mapB = (Map<?, ?>) anyColumnAccessor.get(b);
+            if (mapA == null) mapA = Collections.emptyMap();
+            if (mapB == null) mapB = Collections.emptyMap();
+            if (!mapA.equals(mapB)) {
+                if (changed == null) changed = Lists.newArrayList();
+                for (Object column : Sets.union(mapA.keySet(), mapB.keySet())) {
+                    if (!Objects.equal(mapA.get(column), mapB.get(column))) {
+                        changed.add(String.valueOf(column));
+                    }
+                }
+            }
+        }
+        return changed == null ? Collections.<String>emptyList() : changed;
+    }
+}
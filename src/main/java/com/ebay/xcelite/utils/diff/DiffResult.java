@@ -15,6 +15,7 @@
 */
 package com.ebay.xcelite.utils.diff;
 
+import java.io.IOException;
 import java.util.Collection;
 
 /**
@@ -39,5 +40,26 @@ public interface DiffResult<T> {
      */
     Collection<T> getDifference();
 
+    /**
+     * Gets the report of the diff. Large reports are better written with
+     * {@link #writeReport(Appendable)}, which does not build the report as a
+     * single String.
+     *
+     * @return the report
+     */
     String getReport();
+
+    /**
+     * Writes the report of the diff to the specified output. The results of
+     * {@link XceliteDiff} write the report as it is generated, see
+     * {@link com.ebay.xcelite.utils.diff.report.ReportGenerator#writeReport
+     * ReportGenerator.writeReport}; the default writes {@link #getReport()}.
+     *
+     * @param out the output to write the report to, for instance a Writer
+     * @throws IOException if writing to the output failed
+     * @since 1.0.6
+     */
+    default void writeReport(Appendable out) throws IOException {
+        out.append(getReport());
+    }
 }
@@ -0,0 +1,186 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.utils.diff;
+
+import com.ebay.xcelite.exceptions.XceliteException;
+import com.ebay.xcelite.reader.SheetReader;
+import com.ebay.xcelite.utils.diff.report.NewLineDecorator;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hash join of the rows of two sheets by key. The smaller sheet is read into
+ * a map by key, then the other sheet is streamed through it, keeping only the
+ * set of its keys to detect duplicates. Each row is read and looked up once.
+ *
+ * @since 1.0.6
+ */
+final class KeyedDiff<T> {
+
+    private static final String NEW_LINE = System.getProperty("line.separator");
+
+    private final SheetReader<T> a;
+    private final SheetReader<T> b;
+    private final String[] keyColumns;
+    private BeanColumns columns;
+
+    KeyedDiff(SheetReader<T> a, SheetReader<T> b, String[] keyColumns) {
+        this.a = a;
+        this.b = b;
+        this.keyColumns = keyColumns;
+    }
+
+    KeyedDiffResult<T> diff() {
+        boolean buildA = estimateRows(a) <= estimateRows(b);
+        SheetReader<T> build = buildA ? a : b;
+        SheetReader<T> probe = buildA ? b : a;
+
+        Map<List<Object>, T> index = Maps.newLinkedHashMap();
+        for (T bean : build) {
+            List<Object> key = getKey(bean);
+            if (index.put(key, bean) != null) {
+                throw duplicateKey(key, build);
+            }
+        }
+
+        Set<List<Object>> probed = Sets.newHashSet();
+        List<T> onlyProbe = Lists.newArrayList();
+        List<RowChange<T>> modified = Lists.newArrayList();
+        for (T bean : probe) {
+            List<Object> key = getKey(bean);
+            if (!probed.add(key)) {
+                throw duplicateKey(key, probe);
+            }
+            T match = index.remove(key);
+            if (match == null) {
+                onlyProbe.add(bean);
+                continue;
+            }
+            T beanA = buildA ? match : bean;
+            T beanB = buildA ? bean : match;
+            List<String> changed = columns.getChangedColumns(beanA, beanB);
+            if (!changed.isEmpty()) {
+                modified.add(new RowChange<T>(key, beanA, beanB, changed));
+            }
+        }
+        List<T> onlyBuild = Lists.newArrayList(index.values());
+        return new Result<T>(a, b, buildA ? onlyProbe : onlyBuild, buildA ? onlyBuild : onlyProbe, modified);
+    }
+
+    private List<Object> getKey(T bean) {
+        if (columns == null) {
+            columns = BeanColumns.of(bean.getClass(), keyColumns);
+        }
+        return columns.getKey(bean);
+    }
+
+    private static XceliteException duplicateKey(List<Object> key, SheetReader<?> reader) {
+        return new XceliteException(String.format("Duplicate key %s in sheet \"%s\"", key,
+                XceliteDiff.getSheetName(reader.getSheet())));
+    }
+
+    /**
+     * Gets the number of rows of a loaded sheet. Streaming sheets are not
+     * loaded, they are assumed to be the larger side.
+     */
+    private static int estimateRows(SheetReader<?> reader) {
+        try {
+            return reader.getSheet().getNativeSheet().getPhysicalNumberOfRows();
+        } catch (UnsupportedOperationException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    static final class Result<T> implements KeyedDiffResult<T> {
+
+        private final SheetReader<T> a;
+        private final SheetReader<T> b;
+        private final List<T> added;
+        private final List<T> removed;
+        private final List<RowChange<T>> modified;
+
+        Result(SheetReader<T> a, SheetReader<T> b, List<T> added, List<T> removed, List<RowChange<T>> modified) {
+            this.a = a;
+            this.b = b;
+            this.added = Collections.unmodifiableList(added);
+            this.removed = Collections.unmodifiableList(removed);
+            this.modified = Collections.unmodifiableList(modified);
+        }
+
+        @Override
+        public boolean isIdentical() {
+            return added.isEmpty() && removed.isEmpty() && modified.isEmpty();
+        }
+
+        @Override
+        public List<T> getAdded() {
+            return added;
+        }
+
+        @Override
+        public List<T> getRemoved() {
+            return removed;
+        }
+
+        @Override
+        public List<RowChange<T>> getModified() {
+            return modified;
+        }
+
+        @Override
+        public String getReport() {
+            StringBuilder sb = new StringBuilder();
+            try {
+                writeReport(sb);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return sb.toString();
+        }
+
+        @Override
+        public void writeReport(Appendable out) throws IOException {
+            writeReport(out, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public void writeReport(Appendable out, int maxRows) throws IOException {
+            out.append(describe(a)).append(" -> ").append(describe(b)).append(NEW_LINE);
+            out.append(NEW_LINE);
+            out.append(String.format("Added (%s):" + NEW_LINE, added.size()));
+            new NewLineDecorator<T>(added).appendTo(out, maxRows);
+            out.append(NEW_LINE);
+            out.append(String.format("Removed (%s):" + NEW_LINE, removed.size()));
+            new NewLineDecorator<T>(removed).appendTo(out, maxRows);
+            out.append(NEW_LINE);
+            out.append(String.format("Modified (%s):" + NEW_LINE, modified.size()));
+            new NewLineDecorator<RowChange<T>>(modified).appendTo(out, maxRows);
+        }
+
+        private static String describe(SheetReader<?> reader) {
+            String path = XceliteDiff.getPath(reader.getSheet());
+            String sheet = "Sheet " + XceliteDiff.getSheetName(reader.getSheet());
+            return path == null ? sheet : "File " + path + ", " + sheet;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.utils.diff;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The result of a keyed diff, see {@link XceliteDiff#diffByKey}.
+ *
+ * @since 1.0.6
+ */
+public interface KeyedDiffResult<T> {
+
+    /**
+     * Whether or not the two sheets hold the same rows.
+     *
+     * @return true if no row was added, removed or modified
+     */
+    boolean isIdentical();
+
+    /**
+     * Gets the rows of the second sheet whose key is not in the first one.
+     *
+     * @return the added rows
+     */
+    List<T> getAdded();
+
+    /**
+     * Gets the rows of the first sheet whose key is not in the second one.
+     *
+     * @return the removed rows
+     */
+    List<T> getRemoved();
+
+    /**
+     * Gets the rows found in both sheets with different column values.
+     *
+     * @return the modified rows
+     */
+    List<RowChange<T>> getModified();
+
+    /**
+     * Gets a text report listing the added, removed and modified rows.
+     *
+     * @return the report
+     */
+    String getReport();
+
+    /**
+     * Writes the report to the specified output as it is generated, without
+     * holding the whole report in memory.
+     *
+     * @param out the output to write the report to, for instance a Writer
+     * @throws IOException if writing to the output failed
+     */
+    void writeReport(Appendable out) throws IOException;
+
+    /**
+     * Writes a summary report, listing the number of added, removed and
+     * modified rows and at most the first maxRows rows of each.
+     *
+     * @param out     the output to write the report to
+     * @param maxRows the maximal number of rows listed per kind of change
+     * @throws IOException if writing to the output failed
+     */
+    void writeReport(Appendable out, int maxRows) throws IOException;
+}
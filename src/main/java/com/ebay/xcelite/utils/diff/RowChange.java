@@ -0,0 +1,73 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.utils.diff;
+
+import java.util.List;
+
+/**
+ * A row found in both sheets of a keyed diff whose columns differ.
+ *
+ * @since 1.0.6
+ */
+public final class RowChange<T> {
+
+    private final List<Object> key;
+    private final T a;
+    private final T b;
+    private final List<String> changedColumns;
+
+    RowChange(List<Object> key, T a, T b, List<String> changedColumns) {
+        this.key = key;
+        this.a = a;
+        this.b = b;
+        this.changedColumns = changedColumns;
+    }
+
+    /**
+     * Gets the values of the key columns, in column order.
+     */
+    public List<Object> getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the row of the first sheet.
+     */
+    public T getA() {
+        return a;
+    }
+
+    /**
+     * Gets the row of the second sheet.
+     */
+    public T getB() {
+        return b;
+    }
+
+    /**
+     * Gets the names of the columns whose values differ, in column order.
+     * Columns of an {@link com.ebay.xcelite.annotations.AnyColumn AnyColumn}
+     * map come last.
+     */
+    public List<String> getChangedColumns() {
+        return changedColumns;
+    }
+
+    @Override
+    public String toString() {
+        return "Key " + key + " changed " + changedColumns + ": " + a + " -> " + b;
+    }
+}
@@ -0,0 +1,482 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.utils.diff;
+
+import com.ebay.xcelite.exceptions.XceliteException;
+import com.ebay.xcelite.reader.SheetReader;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Keyed diff of sheets too large to be held in memory, with the same result
+ * as {@link XceliteDiff#diffByKey(SheetReader, SheetReader)}. Each sheet is
+ * read once to compute the key and a digest of the other columns of every
+ * row. Only these pairs are kept, and when they exceed the memory budget they
+ * are sorted by key and spilled to temporary files. The sorted pairs of both
+ * sheets are then merged to find the differing rows, and the sheets are read
+ * a second time to collect the beans of these rows only.
+ * <pre>
+ * StreamingDiff&lt;User&gt; diff = new StreamingDiff&lt;User&gt;(readerA, readerB);
+ * diff.setMemoryBudget(32 * 1024 * 1024);
+ * KeyedDiffResult&lt;User&gt; result = diff.diff();
+ * </pre>
+ * Since both sheets are read twice, pair this diff with readers which do not
+ * hold the sheet in memory, such as the ones of
+ * {@link com.ebay.xcelite.StreamingXcelite StreamingXcelite}. Rows are
+ * compared by digest, so two rows whose values have the same text are
+ * considered equal.
+ *
+ * @since 1.0.6
+ */
+public class StreamingDiff<T> {
+
+    /**
+     * Estimated size of a pair besides the characters of its key.
+     */
+    private static final int ENTRY_OVERHEAD = 96;
+
+    /**
+     * Maximal number of spilled runs merged at once, bounding the number of
+     * files open at the same time.
+     */
+    private static final int MAX_MERGED_RUNS = 64;
+
+    private final SheetReader<T> a;
+    private final SheetReader<T> b;
+    private String[] keyColumns;
+    private long memoryBudget = 64L * 1024 * 1024;
+    private File tempDirectory;
+    private BeanColumns columns;
+
+    public StreamingDiff(SheetReader<T> a, SheetReader<T> b) {
+        this.a = a;
+        this.b = b;
+    }
+
+    /**
+     * Sets the columns matching the rows of both sheets. By default the
+     * {@link com.ebay.xcelite.annotations.Key Key} annotated columns are used.
+     *
+     * @param keyColumns the names of the key columns
+     */
+    public void setKeyColumns(String... keyColumns) {
+        this.keyColumns = keyColumns.length == 0 ? null : keyColumns;
+    }
+
+    /**
+     * Sets the approximate number of bytes the key and digest pairs of a sheet
+     * may take before being spilled to disk. Defaults to 64MB.
+     *
+     * @param memoryBudget the memory budget per sheet in bytes
+     */
+    public void setMemoryBudget(long memoryBudget) {
+        if (memoryBudget <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive: " + memoryBudget);
+        }
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Sets the directory of the spilled files, the default temporary directory
+     * if not set. The files are deleted once the diff is done.
+     *
+     * @param tempDirectory the directory of the spilled files
+     */
+    public void setTempDirectory(File tempDirectory) {
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Compares the sheets.
+     *
+     * @return the diff result
+     * @throws XceliteException if the bean has no key column, a key is
+     *                          duplicated, or spilling to disk failed
+     */
+    public KeyedDiffResult<T> diff() {
+        List<File> runs = Lists.newArrayList();
+        try {
+            BitSet onlyA = new BitSet();
+            BitSet onlyB = new BitSet();
+            BitSet changedA = new BitSet();
+            BitSet changedB = new BitSet();
+            EntrySource sourceA = digest(a, runs);
+            try {
+                EntrySource sourceB = digest(b, runs);
+                try {
+                    join(sourceA, sourceB, onlyA, onlyB, changedA, changedB);
+                } finally {
+                    sourceB.close();
+                }
+            } finally {
+                sourceA.close();
+            }
+
+            List<T> removed = Lists.newArrayList();
+            Map<List<Object>, T> changed = Maps.newHashMap();
+            int ordinal = 0;
+            for (T bean : a) {
+                if (onlyA.get(ordinal)) {
+                    removed.add(bean);
+                } else if (changedA.get(ordinal)) {
+                    changed.put(columns.getKey(bean), bean);
+                }
+                ordinal++;
+            }
+            List<T> added = Lists.newArrayList();
+            List<RowChange<T>> modified = Lists.newArrayList();
+            ordinal = 0;
+            for (T bean : b) {
+                if (onlyB.get(ordinal)) {
+                    added.add(bean);
+                } else if (changedB.get(ordinal)) {
+                    List<Object> key = columns.getKey(bean);
+                    T beanA = changed.get(key);
+                    List<String> changedColumns = columns.getChangedColumns(beanA, bean);
+                    if (!changedColumns.isEmpty()) {
+                        modified.add(new RowChange<T>(key, beanA, bean, changedColumns));
+                    }
+                }
+                ordinal++;
+            }
+            return new KeyedDiff.Result<T>(a, b, added, removed, modified);
+        } catch (IOException e) {
+            throw new XceliteException(e);
+        } finally {
+            for (File run : runs) {
+                run.delete();
+            }
+        }
+    }
+
+    /**
+     * Merges the pairs of both sheets by key, marking the ordinals of the rows
+     * found in one sheet only and of the rows whose digests differ.
+     */
+    private void join(EntrySource sourceA, EntrySource sourceB, BitSet onlyA, BitSet onlyB, BitSet changedA,
+                      BitSet changedB) throws IOException {
+        Entry entryA = next(sourceA, null);
+        Entry entryB = next(sourceB, null);
+        while (entryA != null || entryB != null) {
+            int cmp = entryA == null ? 1 : entryB == null ? -1 : entryA.key.compareTo(entryB.key);
+            if (cmp < 0) {
+                onlyA.set(entryA.ordinal);
+                entryA = next(sourceA, entryA);
+            } else if (cmp > 0) {
+                onlyB.set(entryB.ordinal);
+                entryB = next(sourceB, entryB);
+            } else {
+                if (entryA.digest != entryB.digest) {
+                    changedA.set(entryA.ordinal);
+                    changedB.set(entryB.ordinal);
+                }
+                entryA = next(sourceA, entryA);
+                entryB = next(sourceB, entryB);
+            }
+        }
+    }
+
+    private Entry next(EntrySource source, Entry previous) throws IOException {
+        Entry entry = source.next();
+        if (entry != null && previous != null && entry.key.equals(previous.key)) {
+            throw new XceliteException(String.format("Duplicate key %s in sheet \"%s\"",
+                    Entry.decodeKey(entry.key), XceliteDiff.getSheetName(source.reader.getSheet())));
+        }
+        return entry;
+    }
+
+    /**
+     * Reads the key and digest pairs of a sheet, sorted by key.
+     */
+    private EntrySource digest(SheetReader<T> reader, List<File> runs) throws IOException {
+        List<Entry> entries = Lists.newArrayList();
+        List<File> sheetRuns = Lists.newArrayList();
+        long size = 0;
+        int ordinal = 0;
+        for (T bean : reader) {
+            if (columns == null) {
+                columns = BeanColumns.of(bean.getClass(), keyColumns);
+            }
+            Entry entry = new Entry(Entry.encodeKey(columns.getKey(bean)), columns.getDigest(bean), ordinal++);
+            entries.add(entry);
+            size += ENTRY_OVERHEAD + 2L * entry.key.length();
+            if (size > memoryBudget) {
+                sheetRuns.add(spill(entries, runs));
+                entries.clear();
+                size = 0;
+            }
+        }
+        Collections.sort(entries);
+        if (sheetRuns.isEmpty()) {
+            return new ListSource(reader, entries);
+        }
+        if (!entries.isEmpty()) {
+            sheetRuns.add(spill(entries, runs));
+        }
+        while (sheetRuns.size() > MAX_MERGED_RUNS) {
+            List<File> merged = Lists.newArrayList();
+            for (int from = 0; from < sheetRuns.size(); from += MAX_MERGED_RUNS) {
+                List<File> group = sheetRuns.subList(from, Math.min(from + MAX_MERGED_RUNS, sheetRuns.size()));
+                merged.add(group.size() == 1 ? group.get(0) : merge(reader, group, runs));
+            }
+            sheetRuns = merged;
+        }
+        return new MergeSource(reader, sheetRuns);
+    }
+
+    /**
+     * Merges runs into a single run, deleting them.
+     */
+    private File merge(SheetReader<T> reader, List<File> group, List<File> runs) throws IOException {
+        File run = File.createTempFile("xcelite-diff", ".run", tempDirectory);
+        runs.add(run);
+        MergeSource source = new MergeSource(reader, group);
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(run)));
+            try {
+                out.writeInt(source.size);
+                for (Entry entry = source.next(); entry != null; entry = source.next()) {
+                    entry.write(out);
+                }
+            } finally {
+                out.close();
+            }
+        } finally {
+            source.close();
+        }
+        for (File file : group) {
+            file.delete();
+        }
+        return run;
+    }
+
+    private File spill(List<Entry> entries, List<File> runs) throws IOException {
+        Collections.sort(entries);
+        File run = File.createTempFile("xcelite-diff", ".run", tempDirectory);
+        runs.add(run);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(run)));
+        try {
+            out.writeInt(entries.size());
+            for (Entry entry : entries) {
+                entry.write(out);
+            }
+        } finally {
+            out.close();
+        }
+        return run;
+    }
+
+    /**
+     * The key, the digest and the position in its sheet of a row.
+     */
+    private static final class Entry implements Comparable<Entry> {
+
+        private static final char NULL = '-';
+        private static final char LENGTH_END = ':';
+
+        final String key;
+        final long digest;
+        final int ordinal;
+
+        Entry(String key, long digest, int ordinal) {
+            this.key = key;
+            this.digest = digest;
+            this.ordinal = ordinal;
+        }
+
+        static Entry read(DataInputStream in) throws IOException {
+            char[] key = new char[in.readInt()];
+            for (int i = 0; i < key.length; i++) {
+                key[i] = in.readChar();
+            }
+            return new Entry(new String(key), in.readLong(), in.readInt());
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(key.length());
+            out.writeChars(key);
+            out.writeLong(digest);
+            out.writeInt(ordinal);
+        }
+
+        /**
+         * Encodes the key values into a string, each value as its length and
+         * text so that no value can be mistaken for another or for null.
+         */
+        static String encodeKey(List<Object> key) {
+            StringBuilder sb = new StringBuilder();
+            for (Object value : key) {
+                if (value == null) {
+                    sb.append(NULL);
+                } else {
+                    String text = value.toString();
+                    sb.append(text.length()).append(LENGTH_END).append(text);
+                }
+            }
+            return sb.toString();
+        }
+
+        static String decodeKey(String key) {
+            List<String> values = Lists.newArrayList();
+            int i = 0;
+            while (i < key.length()) {
+                if (key.charAt(i) == NULL) {
+                    values.add("null");
+                    i++;
+                } else {
+                    int end = key.indexOf(LENGTH_END, i);
+                    int start = end + 1;
+                    i = start + Integer.parseInt(key.substring(i, end));
+                    values.add(key.substring(start, i));
+                }
+            }
+            return values.toString();
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            return key.compareTo(o.key);
+        }
+    }
+
+    /**
+     * Pairs of a sheet in key order.
+     */
+    private abstract static class EntrySource implements Closeable {
+
+        final SheetReader<?> reader;
+
+        EntrySource(SheetReader<?> reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * @return the next pair, or null if there are none left
+         */
+        abstract Entry next() throws IOException;
+    }
+
+    private static final class ListSource extends EntrySource {
+
+        private final List<Entry> entries;
+        private int next;
+
+        ListSource(SheetReader<?> reader, List<Entry> entries) {
+            super(reader);
+            this.entries = entries;
+        }
+
+        @Override
+        Entry next() {
+            return next < entries.size() ? entries.get(next++) : null;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Merges spilled runs, holding one pair of each run in memory.
+     */
+    private static final class MergeSource extends EntrySource {
+
+        private final List<Run> runs = Lists.newArrayList();
+        private final PriorityQueue<Run> queue = new PriorityQueue<Run>();
+        final int size;
+
+        MergeSource(SheetReader<?> reader, List<File> files) throws IOException {
+            super(reader);
+            int size = 0;
+            try {
+                for (File file : files) {
+                    Run run = new Run(file);
+                    runs.add(run);
+                    size += run.left;
+                    if (run.advance()) {
+                        queue.add(run);
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+            this.size = size;
+        }
+
+        @Override
+        Entry next() throws IOException {
+            Run run = queue.poll();
+            if (run == null) {
+                return null;
+            }
+            Entry entry = run.current;
+            if (run.advance()) {
+                queue.add(run);
+            }
+            return entry;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (Run run : runs) {
+                run.in.close();
+            }
+        }
+    }
+
+    private static final class Run implements Comparable<Run> {
+
+        final DataInputStream in;
+        private int left;
+        Entry current;
+
+        Run(File file) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            left = in.readInt();
+        }
+
+        boolean advance() throws IOException {
+            if (left == 0) {
+                current = null;
+                return false;
+            }
+            left--;
+            current = Entry.read(in);
+            return true;
+        }
+
+        @Override
+        public int compareTo(Run o) {
+            return current.compareTo(o.current);
+        }
+    }
+}
@@ -0,0 +1,388 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.utils.diff;
+
+import com.ebay.xcelite.Xcelite;
+import com.ebay.xcelite.exceptions.XceliteException;
+import com.ebay.xcelite.reader.SheetReader;
+import com.ebay.xcelite.sheet.XceliteSheet;
+import com.ebay.xcelite.utils.diff.report.ReportGenerator;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the sheets of two workbooks concurrently. Sheets are paired by name
+ * or by index, each pair is compared on an executor, and the results are
+ * aggregated into one {@link WorkbookDiffResult}. Each pair is compared the
+ * way it was added: with
+ * {@link XceliteDiff#diff(SheetReader, SheetReader, ReportGenerator)},
+ * {@link XceliteDiff#diffByKey(SheetReader, SheetReader, String...)} or a
+ * {@link StreamingDiff}:
+ * <pre>
+ * WorkbookDiff diff = new WorkbookDiff(xceliteA, xceliteB);
+ * diff.addSheet("users", User.class);
+ * diff.addKeyedSheet("orders", Order.class);
+ * diff.addStreamingSheet("events", Event.class, "Id");
+ * WorkbookDiffResult result = diff.diff();
+ * </pre>
+ * By default the sheets are compared on a pool of as many threads as there
+ * are processors, created for the diff. Reconciliations comparing several
+ * workbook pairs can share a bounded executor with
+ * {@link #setExecutor(Executor)} instead. Sheets of a workbook are only read
+ * while compared, so the workbooks must not be modified until the diff is
+ * done.
+ *
+ * @since 1.0.6
+ */
+public class WorkbookDiff {
+
+    private final Xcelite a;
+    private final Xcelite b;
+    private final List<SheetPair> pairs = Lists.newArrayList();
+    private Executor executor;
+    private ReportGenerator reportGenerator;
+
+    public WorkbookDiff(Xcelite a, Xcelite b) {
+        this.a = a;
+        this.b = b;
+    }
+
+    /**
+     * Adds the sheets of the specified name in both workbooks.
+     *
+     * @param sheetName the sheet name
+     * @param type      the bean class the sheet rows are read as
+     */
+    public void addSheet(String sheetName, Class<?> type) {
+        pairs.add(new SheetPair(sheetName, -1, type, Mode.ROWS, null));
+    }
+
+    /**
+     * Adds the sheets at the specified index in both workbooks.
+     *
+     * @param sheetIndex the sheet index
+     * @param type       the bean class the sheet rows are read as
+     */
+    public void addSheet(int sheetIndex, Class<?> type) {
+        pairs.add(new SheetPair(null, sheetIndex, type, Mode.ROWS, null));
+    }
+
+    /**
+     * Adds the sheets of the specified name in both workbooks, compared by key,
+     * see {@link XceliteDiff#diffByKey(SheetReader, SheetReader, String...)}.
+     *
+     * @param sheetName  the sheet name
+     * @param type       the bean class the sheet rows are read as
+     * @param keyColumns the names of the key columns, none for the
+     *                   {@link com.ebay.xcelite.annotations.Key Key} annotated ones
+     */
+    public void addKeyedSheet(String sheetName, Class<?> type, String... keyColumns) {
+        pairs.add(new SheetPair(sheetName, -1, type, Mode.KEYED, keyColumns));
+    }
+
+    /**
+     * Adds the sheets at the specified index in both workbooks, compared by
+     * key, see {@link #addKeyedSheet(String, Class, String...)}.
+     *
+     * @param sheetIndex the sheet index
+     * @param type       the bean class the sheet rows are read as
+     * @param keyColumns the names of the key columns
+     */
+    public void addKeyedSheet(int sheetIndex, Class<?> type, String... keyColumns) {
+        pairs.add(new SheetPair(null, sheetIndex, type, Mode.KEYED, keyColumns));
+    }
+
+    /**
+     * Adds the sheets of the specified name in both workbooks, compared by key
+     * with a {@link StreamingDiff}, which holds keys and digests of the rows
+     * rather than the rows themselves.
+     *
+     * @param sheetName  the sheet name
+     * @param type       the bean class the sheet rows are read as
+     * @param keyColumns the names of the key columns, none for the
+     *                   {@link com.ebay.xcelite.annotations.Key Key} annotated ones
+     */
+    public void addStreamingSheet(String sheetName, Class<?> type, String... keyColumns) {
+        pairs.add(new SheetPair(sheetName, -1, type, Mode.STREAMING, keyColumns));
+    }
+
+    /**
+     * Adds the sheets at the specified index in both workbooks, compared by
+     * key with a {@link StreamingDiff}, see
+     * {@link #addStreamingSheet(String, Class, String...)}.
+     *
+     * @param sheetIndex the sheet index
+     * @param type       the bean class the sheet rows are read as
+     * @param keyColumns the names of the key columns
+     */
+    public void addStreamingSheet(int sheetIndex, Class<?> type, String... keyColumns) {
+        pairs.add(new SheetPair(null, sheetIndex, type, Mode.STREAMING, keyColumns));
+    }
+
+    /**
+     * Sets the executor to compare the sheets on. The executor is not shut
+     * down once the diff is done.
+     *
+     * @param executor the executor
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Sets the report generator of the sheets, see
+     * {@link XceliteDiff#diff(SheetReader, SheetReader, ReportGenerator)}.
+     *
+     * @param reportGenerator a custom reporter implementation
+     */
+    public void setReportGenerator(ReportGenerator reportGenerator) {
+        this.reportGenerator = reportGenerator;
+    }
+
+    /**
+     * Compares the added sheets, waiting for all of them to be compared.
+     *
+     * @return the aggregated result
+     * @throws XceliteException if a sheet is missing or can't be compared
+     */
+    public WorkbookDiffResult diff() {
+        List<String> names = Lists.newArrayList();
+        List<FutureTask<Object>> tasks = Lists.newArrayList();
+        for (final SheetPair pair : pairs) {
+            final XceliteSheet sheetA = pair.getSheet(a);
+            final XceliteSheet sheetB = pair.getSheet(b);
+            names.add(XceliteDiff.getSheetName(sheetA));
+            tasks.add(new FutureTask<Object>(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    return diff(sheetA, sheetB, pair.type, pair);
+                }
+            }));
+        }
+
+        ExecutorService pool = null;
+        Executor target = executor;
+        if (target == null) {
+            pool = newPool(Math.min(tasks.size(), Runtime.getRuntime().availableProcessors()));
+            target = pool;
+        }
+        try {
+            for (FutureTask<Object> task : tasks) {
+                target.execute(task);
+            }
+            Map<String, Object> results = Maps.newLinkedHashMap();
+            for (int i = 0; i < tasks.size(); i++) {
+                results.put(uniqueName(names.get(i), results.keySet()), tasks.get(i).get());
+            }
+            return new Result(results);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new XceliteException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new XceliteException((Exception) cause);
+        } finally {
+            for (FutureTask<Object> task : tasks) {
+                task.cancel(true);
+            }
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Suffixes the name of a sheet compared more than once with its number of
+     * occurrence, skipping the names already taken.
+     */
+    private static String uniqueName(String name, Set<String> taken) {
+        String unique = name;
+        for (int n = 2; taken.contains(unique); n++) {
+            unique = name + " #" + n;
+        }
+        return unique;
+    }
+
+    private <T> Object diff(XceliteSheet sheetA, XceliteSheet sheetB, Class<T> type, SheetPair pair) {
+        SheetReader<T> readerA = sheetA.getBeanReader(type);
+        SheetReader<T> readerB = sheetB.getBeanReader(type);
+        switch (pair.mode) {
+            case KEYED:
+                return XceliteDiff.diffByKey(readerA, readerB, pair.keyColumns);
+            case STREAMING:
+                StreamingDiff<T> diff = new StreamingDiff<T>(readerA, readerB);
+                diff.setKeyColumns(pair.keyColumns);
+                return diff.diff();
+            default:
+                return XceliteDiff.diff(readerA, readerB, reportGenerator);
+        }
+    }
+
+    private static ExecutorService newPool(int threads) {
+        return Executors.newFixedThreadPool(Math.max(threads, 1), new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "xcelite-diff-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    private enum Mode {
+        ROWS, KEYED, STREAMING
+    }
+
+    private static final class SheetPair {
+
+        private final String name;
+        private final int index;
+        private final Class<?> type;
+        private final Mode mode;
+        private final String[] keyColumns;
+
+        SheetPair(String name, int index, Class<?> type, Mode mode, String[] keyColumns) {
+            this.name = name;
+            this.index = index;
+            this.type = type;
+            this.mode = mode;
+            this.keyColumns = keyColumns;
+        }
+
+        XceliteSheet getSheet(Xcelite xcelite) {
+            return name != null ? xcelite.getSheet(name) : xcelite.getSheet(index);
+        }
+    }
+
+    private static final class Result implements WorkbookDiffResult {
+
+        private static final String NEW_LINE = System.getProperty("line.separator");
+
+        /**
+         * The results of all the sheets in the order they were added, each a
+         * DiffResult or a KeyedDiffResult.
+         */
+        private final Map<String, Object> results;
+        private final Map<String, DiffResult<?>> sheetResults = Maps.newLinkedHashMap();
+        private final Map<String, KeyedDiffResult<?>> keyedSheetResults = Maps.newLinkedHashMap();
+
+        Result(Map<String, Object> results) {
+            this.results = results;
+            for (Map.Entry<String, Object> entry : results.entrySet()) {
+                if (entry.getValue() instanceof KeyedDiffResult) {
+                    keyedSheetResults.put(entry.getKey(), (KeyedDiffResult<?>) entry.getValue());
+                } else {
+                    sheetResults.put(entry.getKey(), (DiffResult<?>) entry.getValue());
+                }
+            }
+        }
+
+        @Override
+        public boolean isIdentical() {
+            return getDifferenceCount() == 0;
+        }
+
+        @Override
+        public int getDifferenceCount() {
+            int count = 0;
+            for (Object result : results.values()) {
+                count += getDifferenceCount(result);
+            }
+            return count;
+        }
+
+        private static int getDifferenceCount(Object result) {
+            if (result instanceof KeyedDiffResult) {
+                KeyedDiffResult<?> keyed = (KeyedDiffResult<?>) result;
+                return keyed.getAdded().size() + keyed.getRemoved().size() + keyed.getModified().size();
+            }
+            return ((DiffResult<?>) result).getDifference().size();
+        }
+
+        @Override
+        public Map<String, DiffResult<?>> getSheetResults() {
+            return Collections.unmodifiableMap(sheetResults);
+        }
+
+        @Override
+        public Map<String, KeyedDiffResult<?>> getKeyedSheetResults() {
+            return Collections.unmodifiableMap(keyedSheetResults);
+        }
+
+        @Override
+        public String getReport() {
+            StringBuilder sb = new StringBuilder();
+            try {
+                writeReport(sb);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return sb.toString();
+        }
+
+        @Override
+        public void writeReport(Appendable out) throws IOException {
+            for (Map.Entry<String, Object> entry : results.entrySet()) {
+                out.append(String.format("Sheet %s: %s" + NEW_LINE, entry.getKey(), describe(entry.getValue())));
+            }
+            for (Object result : results.values()) {
+                if (getDifferenceCount(result) > 0) {
+                    out.append(NEW_LINE);
+                    if (result instanceof KeyedDiffResult) {
+                        ((KeyedDiffResult<?>) result).writeReport(out);
+                    } else {
+                        ((DiffResult<?>) result).writeReport(out);
+                    }
+                }
+            }
+        }
+
+        private static String describe(Object result) {
+            if (getDifferenceCount(result) == 0) {
+                return "identical";
+            }
+            if (result instanceof KeyedDiffResult) {
+                KeyedDiffResult<?> keyed = (KeyedDiffResult<?>) result;
+                return String.format("added (%s), removed (%s), modified (%s)", keyed.getAdded().size(),
+                        keyed.getRemoved().size(), keyed.getModified().size());
+            }
+            return String.format("difference (%s)", getDifferenceCount(result));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.utils.diff;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * The result of a {@link WorkbookDiff}, aggregating the results of its sheets.
+ *
+ * @since 1.0.6
+ */
+public interface WorkbookDiffResult {
+
+    /**
+     * Whether or not all the compared sheets are identical.
+     *
+     * @return true if all the sheets are identical, false otherwise
+     */
+    boolean isIdentical();
+
+    /**
+     * Gets the number of rows which differ, over all the sheets. Rows of a
+     * sheet compared by key count once per added, removed or modified row.
+     *
+     * @return the number of differing rows
+     */
+    int getDifferenceCount();
+
+    /**
+     * Gets the result of each sheet compared by rows, in the order the sheets
+     * were added, by name of the sheet of the first workbook. A sheet compared
+     * more than once has its number of occurrence appended to its name, as in
+     * "users #2".
+     *
+     * @return the sheet results
+     */
+    Map<String, DiffResult<?>> getSheetResults();
+
+    /**
+     * Gets the result of each sheet compared by key, either with
+     * {@link WorkbookDiff#addKeyedSheet(String, Class, String...)} or
+     * {@link WorkbookDiff#addStreamingSheet(String, Class, String...)}, the
+     * same way as {@link #getSheetResults()}.
+     *
+     * @return the keyed sheet results
+     */
+    Map<String, KeyedDiffResult<?>> getKeyedSheetResults();
+
+    /**
+     * Gets a summary of all the sheets, followed by the reports of the sheets
+     * which are not identical.
+     *
+     * @return the report
+     */
+    String getReport();
+
+    /**
+     * Writes the report to the specified output, see {@link #getReport()}.
+     * Each sheet report is written as it is generated, so the whole report is
+     * never held in memory.
+     *
+     * @param out the output to write the report to, for instance a Writer
+     * @throws IOException if writing to the output failed
+     */
+    void writeReport(Appendable out) throws IOException;
+}
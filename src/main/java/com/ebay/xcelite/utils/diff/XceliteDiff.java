@@ -16,6 +16,8 @@
 package com.ebay.xcelite.utils.diff;
 
 import com.ebay.xcelite.reader.SheetReader;
+import com.ebay.xcelite.sheet.StreamingXceliteSheet;
+import com.ebay.xcelite.sheet.XceliteSheet;
 import com.ebay.xcelite.utils.diff.info.Collections;
 import com.ebay.xcelite.utils.diff.info.Files;
 import com.ebay.xcelite.utils.diff.info.Info;
@@ -26,6 +28,8 @@ import com.ebay.xcelite.utils.diff.report.ReportInfo;
 import org.apache.commons.collections.CollectionUtils;
 
 import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
 import java.util.Collection;
 
 /**
@@ -70,27 +74,84 @@ public final class XceliteDiff {
         Collection<T> ca = a.read();
         Collection<T> cb = b.read();
         Collection<T> disjunction = CollectionUtils.disjunction(ca, cb);
-        Info<T> info = new ReportInfo<T>(new Files(a.getSheet().getFile().getAbsolutePath(), b.getSheet().getFile()
-                .getAbsolutePath()), new Sheets(a.getSheet().getNativeSheet().getSheetName(), b.getSheet().getNativeSheet()
-                .getSheetName()), new Collections<T>(ca, cb, disjunction));
+        Info<T> info = new ReportInfo<T>(new Files(getPath(a.getSheet()), getPath(b.getSheet())),
+                new Sheets(getSheetName(a.getSheet()), getSheetName(b.getSheet())),
+                new Collections<T>(ca, cb, disjunction));
         ReportGenerator reporter;
         if (reportGenerator != null) {
             reporter = reportGenerator;
         } else {
             reporter = new SimpleReportGenerator();
         }
-        return new DiffResultImpl<T>(disjunction, reporter.generateReport(info));
+        return new DiffResultImpl<T>(disjunction, info, reporter);
     }
 
+    /**
+     * Returns the rows added, removed and modified between two sheets, matching
+     * rows by the columns of the bean annotated with
+     * {@link com.ebay.xcelite.annotations.Key Key}. Unlike
+     * {@link #diff(SheetReader, SheetReader)}, a row whose other columns changed
+     * is reported once as modified, along with the names of the changed
+     * columns, and the bean does not need to implement equals() and hashCode().
+     * <p/>
+     * Runs in linear time. Only the rows of the smaller sheet and the keys of
+     * the other one are held in memory, besides the differences. Keys must be
+     * unique within each sheet. Sheets too large for that can be compared with
+     * a {@link StreamingDiff}.
+     *
+     * @param a the first sheet
+     * @param b the second sheet
+     * @return the diff result
+     * @throws com.ebay.xcelite.exceptions.XceliteException if the bean has no
+     *                                                      key column or a key is duplicated
+     */
+    public static <T> KeyedDiffResult<T> diffByKey(@Nonnull SheetReader<T> a, @Nonnull SheetReader<T> b) {
+        return new KeyedDiff<T>(a, b, null).diff();
+    }
+
+    /**
+     * Returns the rows added, removed and modified between two sheets, matching
+     * rows by the specified columns, see {@link #diffByKey(SheetReader, SheetReader)}.
+     *
+     * @param a          the first sheet
+     * @param b          the second sheet
+     * @param keyColumns the names of the key columns
+     * @return the diff result
+     */
+    public static <T> KeyedDiffResult<T> diffByKey(@Nonnull SheetReader<T> a, @Nonnull SheetReader<T> b,
+                                                   String... keyColumns) {
+        return new KeyedDiff<T>(a, b, keyColumns.length == 0 ? null : keyColumns).diff();
+    }
+
+    static String getPath(XceliteSheet sheet) {
+        File file = sheet.getFile();
+        return file == null ? null : file.getAbsolutePath();
+    }
+
+    static String getSheetName(XceliteSheet sheet) {
+        if (sheet instanceof StreamingXceliteSheet) {
+            return ((StreamingXceliteSheet) sheet).getSheetName();
+        }
+        return sheet.getNativeSheet().getSheetName();
+    }
+
+    /**
+     * Generates the report the first time it is asked for and keeps it. The
+     * compared rows are held until then, and released once the report is
+     * kept; writing the report streams it from the rows instead.
+     */
     private static class DiffResultImpl<T> implements DiffResult<T> {
 
         private final Collection<T> diff;
         private final boolean isIdentical;
-        private final String report;
+        private final ReportGenerator reporter;
+        private Info<T> info;
+        private String report;
 
-        public DiffResultImpl(Collection<T> diff, String report) {
+        public DiffResultImpl(Collection<T> diff, Info<T> info, ReportGenerator reporter) {
             this.diff = diff;
-            this.report = report;
+            this.info = info;
+            this.reporter = reporter;
             isIdentical = diff.size() == 0;
         }
 
@@ -105,33 +166,61 @@ public final class XceliteDiff {
         }
 
         @Override
-        public String getReport() {
+        public synchronized String getReport() {
+            if (report == null) {
+                report = reporter.generateReport(info);
+                info = null;
+            }
             return report;
         }
+
+        @Override
+        public synchronized void writeReport(Appendable out) throws IOException {
+            if (report != null) {
+                out.append(report);
+            } else {
+                reporter.writeReport(info, out);
+            }
+        }
     }
 
     private static class SimpleReportGenerator implements ReportGenerator {
         @Override
         public <T> String generateReport(Info<T> info) {
             StringBuilder sb = new StringBuilder();
-            sb.append("File " + info.files().aFile() + ", ");
-            sb.append("Sheet: " + info.sheets().aSheetname() + ", ");
-            sb.append(String.format("items (%s):" + NEW_LINE, info.collections().a().size()));
-            sb.append(NEW_LINE);
-            sb.append(new NewLineDecorator<T>(info.collections().a()));
-            sb.append(NEW_LINE);
-
-            sb.append("File " + info.files().bFile() + ", ");
-            sb.append("Sheet: " + info.sheets().bSheetname() + ", ");
-            sb.append(String.format("items (%s):" + NEW_LINE, info.collections().b().size()));
-            sb.append(NEW_LINE);
-            sb.append(new NewLineDecorator<T>(info.collections().b()));
-            sb.append(NEW_LINE);
-
-            sb.append(String.format("Difference (%s):" + NEW_LINE, info.collections().difference().size()));
-            sb.append(NEW_LINE);
-            sb.append(new NewLineDecorator<T>(info.collections().difference()));
+            try {
+                writeReport(info, sb);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
             return sb.toString();
         }
+
+        @Override
+        public <T> void writeReport(Info<T> info, Appendable out) throws IOException {
+            appendFile(out, info.files().aFile());
+            out.append("Sheet: " + info.sheets().aSheetname() + ", ");
+            out.append(String.format("items (%s):" + NEW_LINE, info.collections().a().size()));
+            out.append(NEW_LINE);
+            new NewLineDecorator<T>(info.collections().a()).appendTo(out);
+            out.append(NEW_LINE);
+
+            appendFile(out, info.files().bFile());
+            out.append("Sheet: " + info.sheets().bSheetname() + ", ");
+            out.append(String.format("items (%s):" + NEW_LINE, info.collections().b().size()));
+            out.append(NEW_LINE);
+            new NewLineDecorator<T>(info.collections().b()).appendTo(out);
+            out.append(NEW_LINE);
+
+            out.append(String.format("Difference (%s):" + NEW_LINE, info.collections().difference().size()));
+            out.append(NEW_LINE);
+            new NewLineDecorator<T>(info.collections().difference()).appendTo(out);
+        }
+
+        private static void appendFile(Appendable out, String file) throws IOException {
+            if (file != null) {
+                out.append("File " + file + ", ");
+            }
+        }
     }
 }
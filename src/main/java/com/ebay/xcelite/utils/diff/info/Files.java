@@ -31,10 +31,16 @@ public class Files {
         this.bFile = bFile;
     }
 
+    /**
+     * @return the path of the first file, or null if its workbook was not opened from a file
+     */
     public String aFile() {
         return aFile;
     }
 
+    /**
+     * @return the path of the second file, or null if its workbook was not opened from a file
+     */
     public String bFile() {
         return bFile;
     }
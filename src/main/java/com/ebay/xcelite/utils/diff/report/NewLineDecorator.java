@@ -15,6 +15,7 @@
 */
 package com.ebay.xcelite.utils.diff.report;
 
+import java.io.IOException;
 import java.util.Collection;
 
 /**
@@ -41,4 +42,35 @@ public class NewLineDecorator<T> {
         }
         return sb.toString();
     }
+
+    /**
+     * Writes the elements one per line, without building the whole text first.
+     *
+     * @param out the output to write to
+     * @throws IOException if writing to the output failed
+     * @since 1.0.6
+     */
+    public void appendTo(Appendable out) throws IOException {
+        appendTo(out, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Writes the first elements one per line, followed by the number of
+     * elements left out if any.
+     *
+     * @param out the output to write to
+     * @param max the maximal number of elements written
+     * @throws IOException if writing to the output failed
+     * @since 1.0.6
+     */
+    public void appendTo(Appendable out, int max) throws IOException {
+        int count = 0;
+        for (T t : collection) {
+            if (count++ == max) {
+                out.append(String.format("... and %s more" + NEW_LINE, collection.size() - max));
+                break;
+            }
+            out.append(String.valueOf(t)).append(NEW_LINE);
+        }
+    }
 }
@@ -17,6 +17,8 @@ package com.ebay.xcelite.utils.diff.report;
 
 import com.ebay.xcelite.utils.diff.info.Info;
 
+import java.io.IOException;
+
 /**
  * Class description...
  *
@@ -26,4 +28,19 @@ import com.ebay.xcelite.utils.diff.info.Info;
 public interface ReportGenerator {
 
     <T> String generateReport(Info<T> info);
+
+    /**
+     * Writes the report to the specified output as it is generated, without
+     * holding the whole report in memory. Generators of large reports should
+     * override this method; the default writes the result of
+     * {@link #generateReport(Info)}.
+     *
+     * @param info the diff info
+     * @param out  the output to write the report to, for instance a Writer
+     * @throws IOException if writing to the output failed
+     * @since 1.0.6
+     */
+    default <T> void writeReport(Info<T> info, Appendable out) throws IOException {
+        out.append(generateReport(info));
+    }
 }
@@ -0,0 +1,100 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.utils.diff.report;
+
+import com.ebay.xcelite.annotations.Column;
+import com.ebay.xcelite.annotations.Row;
+
+/**
+ * A row of a diff report written to a sheet, see {@link SheetReport}.
+ *
+ * @since 1.0.6
+ */
+@Row(colsOrder = {"Sheet", "Change", "Key", "Changed Columns", "Row", "Previous Row"})
+public class ReportRow {
+
+    @Column(name = "Sheet")
+    private String sheet;
+
+    @Column(name = "Change")
+    private String change;
+
+    @Column(name = "Key")
+    private String key;
+
+    @Column(name = "Changed Columns")
+    private String changedColumns;
+
+    @Column(name = "Row")
+    private String row;
+
+    @Column(name = "Previous Row")
+    private String previousRow;
+
+    public ReportRow() {
+    }
+
+    ReportRow(String sheet, String change, String key, String changedColumns, String row, String previousRow) {
+        this.sheet = sheet;
+        this.change = change;
+        this.key = key;
+        this.changedColumns = changedColumns;
+        this.row = row;
+        this.previousRow = previousRow;
+    }
+
+    /**
+     * Gets the name of the compared sheet, set in workbook reports only.
+     */
+    public String getSheet() {
+        return sheet;
+    }
+
+    /**
+     * Gets the kind of change: Difference, Added, Removed or Modified.
+     */
+    public String getChange() {
+        return change;
+    }
+
+    /**
+     * Gets the key of a modified row.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the names of the columns of a modified row whose values differ.
+     */
+    public String getChangedColumns() {
+        return changedColumns;
+    }
+
+    /**
+     * Gets the row, or the row of the second sheet for a modified row.
+     */
+    public String getRow() {
+        return row;
+    }
+
+    /**
+     * Gets the row of the first sheet for a modified row.
+     */
+    public String getPreviousRow() {
+        return previousRow;
+    }
+}
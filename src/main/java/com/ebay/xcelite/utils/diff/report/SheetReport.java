@@ -0,0 +1,128 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.utils.diff.report;
+
+import com.ebay.xcelite.sheet.XceliteSheet;
+import com.ebay.xcelite.utils.diff.DiffResult;
+import com.ebay.xcelite.utils.diff.KeyedDiffResult;
+import com.ebay.xcelite.utils.diff.RowChange;
+import com.ebay.xcelite.utils.diff.WorkbookDiffResult;
+import com.google.common.base.Function;
+import com.google.common.base.Joiner;
+import com.google.common.collect.Iterators;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Writes diff results to a sheet, one {@link ReportRow} per differing row, so
+ * that the differences of large sheets can be browsed in a spreadsheet. Rows
+ * are created as they are written, with a streaming workbook the report is
+ * written in constant memory:
+ * <pre>
+ * Xcelite report = new Xcelite(WorkbookType.SXSSF);
+ * SheetReport.write(diffResult, report.createSheet("Diff"));
+ * report.write(new File("diff.xlsx"));
+ * </pre>
+ *
+ * @since 1.0.6
+ */
+public final class SheetReport {
+
+    private static final Joiner JOINER = Joiner.on(", ").useForNull("null");
+
+    private SheetReport() {
+    }
+
+    /**
+     * Writes the difference of a diff, one "Difference" row per element.
+     *
+     * @param result the diff result
+     * @param sheet  the sheet to write to
+     */
+    public static void write(DiffResult<?> result, XceliteSheet sheet) {
+        sheet.getBeanWriter(ReportRow.class).write(differences(null, result));
+    }
+
+    /**
+     * Writes the added, removed and modified rows of a keyed diff.
+     *
+     * @param result the keyed diff result
+     * @param sheet  the sheet to write to
+     */
+    public static void write(KeyedDiffResult<?> result, XceliteSheet sheet) {
+        sheet.getBeanWriter(ReportRow.class).write(changes(null, result));
+    }
+
+    /**
+     * Writes the differences of all the sheets of a workbook diff, with the
+     * name of the sheet in the Sheet column. The sheets compared by rows come
+     * first, followed by the ones compared by key.
+     *
+     * @param result the workbook diff result
+     * @param sheet  the sheet to write to
+     */
+    public static void write(WorkbookDiffResult result, XceliteSheet sheet) {
+        Iterator<ReportRow> rows = Iterators.concat(Iterators.transform(result.getSheetResults().entrySet().iterator(),
+                new Function<Map.Entry<String, DiffResult<?>>, Iterator<ReportRow>>() {
+                    @Override
+                    public Iterator<ReportRow> apply(Map.Entry<String, DiffResult<?>> entry) {
+                        return differences(entry.getKey(), entry.getValue());
+                    }
+                }));
+        Iterator<ReportRow> keyedRows = Iterators.concat(Iterators.transform(
+                result.getKeyedSheetResults().entrySet().iterator(),
+                new Function<Map.Entry<String, KeyedDiffResult<?>>, Iterator<ReportRow>>() {
+                    @Override
+                    public Iterator<ReportRow> apply(Map.Entry<String, KeyedDiffResult<?>> entry) {
+                        return changes(entry.getKey(), entry.getValue());
+                    }
+                }));
+        sheet.getBeanWriter(ReportRow.class).write(Iterators.concat(rows, keyedRows));
+    }
+
+    private static Iterator<ReportRow> differences(final String sheet, DiffResult<?> result) {
+        return Iterators.transform(result.getDifference().iterator(), new Function<Object, ReportRow>() {
+            @Override
+            public ReportRow apply(Object row) {
+                return new ReportRow(sheet, "Difference", null, null, String.valueOf(row), null);
+            }
+        });
+    }
+
+    private static <T> Iterator<ReportRow> changes(final String sheet, KeyedDiffResult<T> result) {
+        return Iterators.concat(
+                rows(sheet, "Added", result.getAdded().iterator()),
+                rows(sheet, "Removed", result.getRemoved().iterator()),
+                Iterators.transform(result.getModified().iterator(), new Function<RowChange<T>, ReportRow>() {
+                    @Override
+                    public ReportRow apply(RowChange<T> change) {
+                        return new ReportRow(sheet, "Modified", JOINER.join(change.getKey()),
+                                JOINER.join(change.getChangedColumns()),
+                                String.valueOf(change.getB()), String.valueOf(change.getA()));
+                    }
+                }));
+    }
+
+    private static Iterator<ReportRow> rows(final String sheet, final String change, Iterator<?> rows) {
+        return Iterators.transform(rows, new Function<Object, ReportRow>() {
+            @Override
+            public ReportRow apply(Object row) {
+                return new ReportRow(sheet, change, null, null, String.valueOf(row), null);
+            }
+        });
+    }
+}
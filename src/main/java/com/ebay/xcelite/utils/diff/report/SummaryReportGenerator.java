@@ -0,0 +1,75 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.utils.diff.report;
+
+import com.ebay.xcelite.utils.diff.info.Info;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Report generator which lists the number of rows of both sheets and only the
+ * first differences, keeping reports of large sheets short:
+ * <pre>
+ * DiffResult&lt;User&gt; diffResult = XceliteDiff.diff(readerA, readerB, new SummaryReportGenerator(100));
+ * </pre>
+ *
+ * @since 1.0.6
+ */
+public class SummaryReportGenerator implements ReportGenerator {
+
+    private static final String NEW_LINE = System.getProperty("line.separator");
+
+    private final int maxDifferences;
+
+    /**
+     * @param maxDifferences the maximal number of differences listed
+     */
+    public SummaryReportGenerator(int maxDifferences) {
+        if (maxDifferences < 0) {
+            throw new IllegalArgumentException("Max differences must not be negative: " + maxDifferences);
+        }
+        this.maxDifferences = maxDifferences;
+    }
+
+    @Override
+    public <T> String generateReport(Info<T> info) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeReport(info, sb);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public <T> void writeReport(Info<T> info, Appendable out) throws IOException {
+        appendSheet(out, info.files().aFile(), info.sheets().aSheetname(), info.collections().a().size());
+        appendSheet(out, info.files().bFile(), info.sheets().bSheetname(), info.collections().b().size());
+        Collection<T> difference = info.collections().difference();
+        out.append(String.format("Difference (%s):" + NEW_LINE, difference.size()));
+        out.append(NEW_LINE);
+        new NewLineDecorator<T>(difference).appendTo(out, maxDifferences);
+    }
+
+    private static void appendSheet(Appendable out, String file, String sheet, int items) throws IOException {
+        if (file != null) {
+            out.append("File " + file + ", ");
+        }
+        out.append(String.format("Sheet: %s, items (%s)" + NEW_LINE, sheet, items));
+    }
+}
@@ -0,0 +1,232 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.writer;
+
+import com.ebay.xcelite.exceptions.XceliteException;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes to a sheet on a background thread, so that producing the data and
+ * writing it to the sheet run in parallel. Producers {@link #put(Object) put}
+ * elements into a bounded queue, which blocks them while the queue is full.
+ * The background thread takes the elements in batches and appends them to a
+ * {@link SheetWriteSession} of the wrapped writer.
+ * <p/>
+ * The workbook must not be used by other threads until the future returned by
+ * {@link #finish(Callable)} is done; the workbook itself can be written from
+ * the completion callback:
+ * <pre>
+ * AsyncSheetWriter&lt;User&gt; writer = new AsyncSheetWriter&lt;User&gt;(sheet.getBeanWriter(User.class), 10000);
+ * for (User user : users) {
+ *   writer.put(user);
+ * }
+ * Future&lt;Void&gt; done = writer.finish(() -&gt; {
+ *   xcelite.write(file);
+ *   return null;
+ * });
+ * </pre>
+ * If writing fails, the next call to {@link #put(Object)} or
+ * {@link #finish(Callable)} throws, and the future fails with the cause.
+ *
+ * @since 1.0.6
+ */
+public class AsyncSheetWriter<T> {
+
+    private static final Object END = new Object();
+
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final SheetWriter<T> writer;
+    private final int capacity;
+    private final BlockingQueue<Object> queue;
+    private final SettableFuture<Object> result = SettableFuture.create();
+    private volatile Callable<?> completion;
+    private volatile Throwable failure;
+    private volatile boolean finished;
+
+    /**
+     * Creates an asynchronous writer which writes on its own daemon thread.
+     *
+     * @param writer   the writer to write with
+     * @param capacity the maximal number of elements waiting to be written
+     */
+    public AsyncSheetWriter(SheetWriter<T> writer, int capacity) {
+        this(writer, capacity, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                Thread thread = new Thread(command, "xcelite-async-writer");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        });
+    }
+
+    /**
+     * Creates an asynchronous writer which writes on a thread of the executor.
+     * The thread is held until writing is finished.
+     *
+     * @param writer   the writer to write with
+     * @param capacity the maximal number of elements waiting to be written
+     * @param executor the executor to write on
+     */
+    public AsyncSheetWriter(SheetWriter<T> writer, int capacity, Executor executor) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.writer = writer;
+        this.capacity = capacity;
+        queue = new ArrayBlockingQueue<Object>(capacity);
+        result.addListener(new Runnable() {
+            @Override
+            public void run() {
+                // wakes the writing thread up when cancelled while waiting for elements
+                if (result.isCancelled()) queue.offer(END);
+            }
+        }, MoreExecutors.sameThreadExecutor());
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                writeAll();
+            }
+        });
+    }
+
+    /**
+     * Queues an element to be written, waiting while the queue is full.
+     *
+     * @param element the element to write
+     * @throws XceliteException if writing failed
+     */
+    public void put(T element) {
+        if (finished) {
+            throw new IllegalStateException("Writer is finished");
+        }
+        enqueue(element);
+    }
+
+    /**
+     * Queues all the elements to be written, see {@link #put(Object)}.
+     *
+     * @param elements the elements to write
+     */
+    public void putAll(Iterable<T> elements) {
+        for (T element : elements) {
+            put(element);
+        }
+    }
+
+    /**
+     * Signals that all the elements were put.
+     *
+     * @return a future which is done once all the elements are written
+     */
+    public Future<Void> finish() {
+        return finish(null);
+    }
+
+    /**
+     * Signals that all the elements were put, and sets a callback to run on
+     * the writing thread once they are written, typically to write the
+     * workbook.
+     *
+     * @param completion the callback, may be null
+     * @return a future which is done once the callback returned
+     */
+    @SuppressWarnings("unchecked")
+    public <V> Future<V> finish(Callable<V> completion) {
+        if (finished) {
+            throw new IllegalStateException("Writer is finished");
+        }
+        finished = true;
+        this.completion = completion;
+        enqueue(END);
+        return (Future<V>) result;
+    }
+
+    private void enqueue(Object element) {
+        checkFailure();
+        try {
+            while (!queue.offer(element, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                checkFailure();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new XceliteException(e);
+        }
+    }
+
+    private void checkFailure() {
+        Throwable t = failure;
+        if (t != null) {
+            if (t instanceof Exception) {
+                throw new XceliteException((Exception) t);
+            }
+            throw Throwables.propagate(t);
+        }
+        if (result.isCancelled()) {
+            throw new CancellationException("Writer was cancelled");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeAll() {
+        try {
+            SheetWriteSession<T> session = writer.openSession();
+            List<T> batch = Lists.newArrayListWithCapacity(capacity);
+            List<Object> elements = Lists.newArrayListWithCapacity(capacity);
+            boolean end = false;
+            while (!end) {
+                elements.add(queue.take());
+                queue.drainTo(elements, capacity);
+                if (result.isCancelled()) {
+                    queue.clear();
+                    return;
+                }
+                for (Object element : elements) {
+                    if (element == END) {
+                        end = true;
+                    } else {
+                        batch.add((T) element);
+                    }
+                }
+                elements.clear();
+                if (!batch.isEmpty()) {
+                    session.append(batch);
+                    batch.clear();
+                }
+            }
+            session.close();
+            Callable<?> callback = completion;
+            result.set(callback == null ? null : callback.call());
+        } catch (Throwable t) {
+            failure = t;
+            queue.clear();
+            result.setException(t);
+        }
+    }
+}
@@ -18,47 +18,235 @@ package com.ebay.xcelite.writer;
 import com.ebay.xcelite.annotate.NoConverterClass;
 import com.ebay.xcelite.column.Col;
 import com.ebay.xcelite.column.ColumnFieldsMapper;
-import com.ebay.xcelite.column.ColumnsExtractor;
+import com.ebay.xcelite.column.ColumnsSchema;
+import com.ebay.xcelite.column.FieldAccessor;
 import com.ebay.xcelite.converters.ColumnValueConverter;
+import com.ebay.xcelite.converters.ConverterRegistry;
+import com.ebay.xcelite.exceptions.XceliteException;
 import com.ebay.xcelite.sheet.XceliteSheet;
+import com.ebay.xcelite.styles.CellStyles;
 import com.ebay.xcelite.styles.CellStylesBank;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
 
-import java.lang.reflect.Field;
 import java.util.*;
+import java.util.function.Supplier;
 
 public class BeanSheetWriter<T> extends SheetWriterAbs<T> {
 
     private final LinkedHashSet<Col> columns;
     private final ColumnFieldsMapper fieldsMapper;
     private final Col anyColumn;
+    private final FieldAccessor anyColumnAccessor;
+    private final CellStyles styles;
     private Row headerRow;
     private int rowIndex = 0;
+    private ColumnSizing columnSizing = ColumnSizing.EXACT;
+    private int sizingSampleRows;
+    private ColumnWidthEstimator widthEstimator;
+    private boolean singlePass;
+    private Set<Col> declaredAnyColumns = Collections.emptySet();
+    private boolean anyColumnsDeclared;
+    private List<ColumnWriter> writers;
+    private Map<String, Integer> anyColumnIndexes;
 
     public BeanSheetWriter(XceliteSheet sheet, Class<T> type) {
         super(sheet, true);
-        ColumnsExtractor extractor = new ColumnsExtractor(type);
-        extractor.extract();
-        columns = extractor.getColumns();
-        fieldsMapper = new ColumnFieldsMapper(extractor.getColumnFields());
-        anyColumn = extractor.getAnyColumn();
+        ColumnsSchema schema = ColumnsSchema.of(type);
+        columns = Sets.newLinkedHashSet(schema.getColumns());
+        fieldsMapper = schema.getFieldsMapper();
+        anyColumn = schema.getAnyColumn();
+        anyColumnAccessor = anyColumn == null ? null : fieldsMapper.getColumnAccessor(anyColumn.getFieldName());
+        styles = CellStylesBank.get(sheet.getNativeSheet().getWorkbook());
     }
 
     @Override
     public void write(Collection<T> data) {
+        write(data.iterator(), singlePass ? null : data);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Beans holding an {@link com.ebay.xcelite.annotations.AnyColumn AnyColumn}
+     * map are scanned for their dynamic columns first, unless in single pass
+     * mode, so the iterable is iterated twice.
+     */
+    @Override
+    public void write(Iterable<T> data) {
+        write(data.iterator(), singlePass ? null : data);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Beans holding an {@link com.ebay.xcelite.annotations.AnyColumn AnyColumn}
+     * map are always written in single pass mode, see {@link #setSinglePass(boolean)}.
+     */
+    @Override
+    public void write(Iterator<T> data) {
+        write(data, null);
+    }
+
+    /**
+     * @param data       the beans to write
+     * @param anyColumns the beans to collect the dynamic columns from before
+     *                   writing, null to add dynamic columns as they are seen
+     */
+    private void write(Iterator<T> data, Iterable<T> anyColumns) {
+        if (anyColumns == null) checkAnyColumnsDeclared();
+        widthEstimator = getColumnSizing() == ColumnSizing.ESTIMATE
+                ? new ColumnWidthEstimator(sizingSampleRows) : null;
+
         if (writeHeader) writeHeader();
 
-        writeData(data);
+        if (anyColumn != null) {
+            addColumns(declaredAnyColumns, true);
+            if (anyColumns != null) {
+                Set<Col> columnsToAdd = Sets.newTreeSet();
+                for (T t : anyColumns)
+                    appendAnyColumns(t, columnsToAdd);
+                addColumns(columnsToAdd, true);
+            }
+        }
+
+        compileWriters();
+        writeData(data, anyColumn != null && anyColumns == null);
 
         autoSizeColumn();
     }
 
+    /**
+     * Writes the header after the last row of the sheet and compiles the
+     * columns once for all the batches of the session. Beans holding an
+     * {@link com.ebay.xcelite.annotations.AnyColumn AnyColumn} map are written
+     * in single pass mode, see {@link #setSinglePass(boolean)}.
+     */
+    @Override
+    protected void startSession() {
+        checkAnyColumnsDeclared();
+        Sheet nativeSheet = sheet.getNativeSheet();
+        rowIndex = nativeSheet.getPhysicalNumberOfRows() == 0 ? 0 : nativeSheet.getLastRowNum() + 1;
+        widthEstimator = getColumnSizing() == ColumnSizing.ESTIMATE
+                ? new ColumnWidthEstimator(sizingSampleRows) : null;
+
+        if (writeHeader) writeHeader();
+        if (anyColumn != null) addColumns(declaredAnyColumns, true);
+
+        compileWriters();
+    }
+
+    @Override
+    protected void appendRows(Iterator<T> data) {
+        writeData(data, anyColumn != null);
+    }
+
+    @Override
+    protected void finishSession() {
+        autoSizeColumn();
+    }
+
+    /**
+     * Writes beans holding an {@link com.ebay.xcelite.annotations.AnyColumn
+     * AnyColumn} map in a single pass over the data. By default all the beans
+     * are scanned for their dynamic columns first, so these can be added to
+     * the header in sorted order. In single pass mode dynamic columns are
+     * added to the header the first time they are seen instead, in that
+     * order.
+     * <p/>
+     * On a streaming sheet, a dynamic column seen for the first time after
+     * the header row was flushed to disk can not be added to the header
+     * anymore, rows already flushed can't be rewritten. Single pass writes
+     * to a streaming sheet with a header therefore fail with an
+     * {@link XceliteException} before writing any row, unless the dynamic
+     * columns were declared with {@link #declareAnyColumns(String...)}. A
+     * column which was not declared and is first seen after the header row
+     * was flushed still fails the write. Write a collection or an iterable
+     * instead, which is scanned first, when the columns are not known up
+     * front.
+     *
+     * @param singlePass whether to write in a single pass
+     */
+    public void setSinglePass(boolean singlePass) {
+        this.singlePass = singlePass;
+    }
+
+    /**
+     * Declares dynamic columns of the {@link com.ebay.xcelite.annotations.AnyColumn
+     * AnyColumn} map, which are added to the header in this order before any
+     * row is written. Lets single pass writes to a streaming sheet, such as
+     * {@link #write(Iterator)} and write sessions, know their header up
+     * front, which they require on a streaming sheet. Dynamic columns which
+     * are not declared are still added as they are seen.
+     *
+     * @param columnNames the names of the dynamic columns
+     * @since 1.0.6
+     */
+    public void declareAnyColumns(String... columnNames) {
+        if (anyColumn == null) {
+            throw new XceliteException("Bean has no AnyColumn map to declare columns of");
+        }
+        declaredAnyColumns = Sets.newLinkedHashSet();
+        anyColumnsDeclared = true;
+        for (String columnName : columnNames) {
+            Col column = new Col(columnName, anyColumn.getFieldName());
+            // the type is known once a value is written
+            column.setType(null);
+            column.setAnyColumn(true);
+            if (anyColumn.getConverter() != NoConverterClass.class) {
+                column.setConverter(anyColumn.getConverter());
+            }
+            declaredAnyColumns.add(column);
+        }
+    }
+
+    /**
+     * Sets how columns are sized once written, {@link ColumnSizing#EXACT} by
+     * default.
+     *
+     * @param columnSizing the column sizing
+     */
+    public void setColumnSizing(ColumnSizing columnSizing) {
+        this.columnSizing = columnSizing;
+    }
+
+    /**
+     * Limits {@link ColumnSizing#ESTIMATE} to the first rows written, which is
+     * enough for columns holding values of similar width.
+     *
+     * @param sampleRows the number of data rows to measure, 0 to measure all
+     */
+    public void setSizingSampleRows(int sampleRows) {
+        if (sampleRows < 0) {
+            throw new IllegalArgumentException("Sample rows must not be negative: " + sampleRows);
+        }
+        this.sizingSampleRows = sampleRows;
+    }
+
+    private ColumnSizing getColumnSizing() {
+        // rows of a streaming sheet are already flushed to disk and can't be measured
+        if (columnSizing == ColumnSizing.EXACT && sheet.getNativeSheet() instanceof SXSSFSheet) {
+            return ColumnSizing.ESTIMATE;
+        }
+        return columnSizing;
+    }
+
     private void autoSizeColumn() {
         Sheet nativeSheet = sheet.getNativeSheet();
+        if (widthEstimator != null) {
+            widthEstimator.apply(nativeSheet);
+            widthEstimator = null;
+            return;
+        }
+        if (columnSizing != ColumnSizing.EXACT) return;
         Row row = nativeSheet.getRow(0);
+        if (row == null) return;
 
         for (int i = 0; i < row.getLastCellNum(); i++) {
             nativeSheet.autoSizeColumn(i);
@@ -66,75 +254,97 @@ public class BeanSheetWriter<T> extends SheetWriterAbs<T> {
 
     }
 
-    @SuppressWarnings("unchecked")
-    private void writeData(Collection<T> data) {
+    private void writeData(Iterator<T> data, boolean dynamicColumns) {
         try {
-            Set<Col> columnsToAdd = Sets.newTreeSet();
-
-            if (anyColumn != null) {
-                for (T t : data)
-                    appendAnyColumns(t, columnsToAdd);
-            }
 
-            addColumns(columnsToAdd, true);
-            for (T t : data) {
-                Row row = sheet.getNativeSheet().createRow(rowIndex);
-                int i = 0;
-                for (Col col : columns) {
-                    Field field = fieldsMapper.getColumnField(col.getFieldName());
-                    Object fieldValueObj = null;
-                    if (col.isAnyColumn()) {
-                        Map<String, Object> anyColumnMap = (Map<String, Object>) field.get(t);
-                        fieldValueObj = anyColumnMap.get(col.getName());
-                    } else {
-                        fieldValueObj = field.get(t);
-                    }
-                    Cell cell = row.createCell(i);
-                    cell.setCellStyle(CellStylesBank.get(sheet.getNativeSheet().getWorkbook()).getNormalStyle());
-                    writeToCell(cell, col, fieldValueObj);
-                    i++;
+            Sheet nativeSheet = sheet.getNativeSheet();
+            while (data.hasNext()) {
+                T t = data.next();
+                Row row = nativeSheet.createRow(rowIndex);
+                boolean measure = widthEstimator != null && widthEstimator.isSampling();
+                for (int i = 0; i < writers.size(); i++) {
+                    ColumnWriter writer = writers.get(i);
+                    if (dynamicColumns && writer.isAnyColumn()) continue;
+                    writer.write(row.createCell(i), t, measure);
                 }
+                if (dynamicColumns) writeAnyColumns(row, t, measure);
+                if (measure) widthEstimator.nextRow();
                 rowIndex++;
             }
         } catch (SecurityException e) {
             throw new RuntimeException(e);
         } catch (IllegalArgumentException e) {
             throw new RuntimeException(e);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private void writeToCell(Cell cell, Col col, Object fieldValueObj) {
-        if (fieldValueObj == null) {
-            cell.setCellValue((String) null);
-            return;
+    private void compileWriters() {
+        writers = Lists.newArrayListWithCapacity(columns.size());
+        anyColumnIndexes = Maps.newHashMap();
+        for (Col col : columns) {
+            if (col.isAnyColumn()) {
+                anyColumnIndexes.put(col.getName(), writers.size());
+            }
+            writers.add(new ColumnWriter(col, writers.size()));
         }
-        if (col.getConverter() != null) {
-            try {
-                ColumnValueConverter<?, Object> converter = (ColumnValueConverter<?, Object>) col.getConverter().newInstance();
-                fieldValueObj = converter.serialize(fieldValueObj);
-            } catch (InstantiationException e) {
-                throw new RuntimeException(e);
-            } catch (IllegalAccessException e) {
-                throw new RuntimeException(e);
+    }
+
+    /**
+     * Writes the entries of the bean's {@link com.ebay.xcelite.annotations.AnyColumn
+     * AnyColumn} map, adding the columns seen for the first time.
+     */
+    @SuppressWarnings("unchecked")
+    private void writeAnyColumns(Row row, T t, boolean measure) {
+        Map<String, Object> anyColumnMap = (Map<String, Object>) anyColumnAccessor.get(t);
+        if (anyColumnMap == null) return;
+        for (Map.Entry<String, Object> entry : anyColumnMap.entrySet()) {
+            Integer index = anyColumnIndexes.get(entry.getKey());
+            if (index == null) {
+                index = addAnyColumn(createAnyColumn(entry));
             }
+            if (index < 0) continue;
+            writers.get(index).writeValue(row.createCell(index), entry.getValue(), measure);
         }
-        if (col.getDataFormat() != null) {
-            cell.setCellStyle(CellStylesBank.get(sheet.getNativeSheet().getWorkbook()).getCustomDataFormatStyle(
-                    col.getDataFormat()));
+    }
+
+    /**
+     * Fails a single pass write of dynamic columns to a streaming sheet before
+     * any row is written, when a column seen after the header row was flushed
+     * would leave the workbook half written.
+     */
+    private void checkAnyColumnsDeclared() {
+        if (anyColumn != null && writeHeader && !anyColumnsDeclared
+                && sheet.getNativeSheet() instanceof SXSSFSheet) {
+            throw new XceliteException("Dynamic columns must be declared with declareAnyColumns to be written "
+                    + "in a single pass to a streaming sheet, or write a collection or an iterable");
         }
+    }
 
-        if (col.getType() == Date.class) {
-            if (col.getDataFormat() == null) {
-                cell.setCellStyle(CellStylesBank.get(sheet.getNativeSheet().getWorkbook()).getDateStyle());
+    /**
+     * Adds a dynamic column seen for the first time while writing in single
+     * pass mode.
+     *
+     * @return the column's cell index, -1 if a declared column has the same name
+     */
+    private int addAnyColumn(Col column) {
+        int index = -1;
+        if (!columns.contains(column)) {
+            index = writers.size();
+            if (writeHeader) {
+                if (sheet.getNativeSheet().getRow(headerRow.getRowNum()) == null) {
+                    throw new XceliteException(String.format("Column \"%s\" first seen after the header row "
+                            + "was flushed, declare it with declareAnyColumns or write an iterable", column.getName()));
+                }
+                writeHeaderCell(index, column.getName());
             }
+            columns.add(column);
+            writers.add(new ColumnWriter(column, index));
         }
-
-        writeToCell(cell, fieldValueObj, col.getType());
+        anyColumnIndexes.put(column.getName(), index);
+        return index;
     }
 
+
     private void writeHeader() {
         headerRow = sheet.getNativeSheet().createRow(rowIndex);
         rowIndex++;
@@ -144,40 +354,117 @@ public class BeanSheetWriter<T> extends SheetWriterAbs<T> {
     @SuppressWarnings("unchecked")
     private void appendAnyColumns(T t, Set<Col> columnToAdd) {
         try {
-            Field anyColumnField = fieldsMapper.getColumnField(anyColumn.getFieldName());
-            Map<String, Object> fieldValueObj = (Map<String, Object>) anyColumnField.get(t);
+            Map<String, Object> fieldValueObj = (Map<String, Object>) anyColumnAccessor.get(t);
+            if (fieldValueObj == null) return;
 
             for (Map.Entry<String, Object> entry : fieldValueObj.entrySet()) {
-                Col column = new Col(entry.getKey(), anyColumnField.getName());
-                column.setType(entry.getValue() == null ? String.class : entry.getValue().getClass());
-                column.setAnyColumn(true);
-                if (anyColumn.getConverter() != NoConverterClass.class) {
-                    column.setConverter(anyColumn.getConverter());
-                }
-                columnToAdd.add(column);
+                columnToAdd.add(createAnyColumn(entry));
             }
         } catch (SecurityException e) {
             throw new RuntimeException(e);
         } catch (IllegalArgumentException e) {
             throw new RuntimeException(e);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
         }
     }
 
+    private Col createAnyColumn(Map.Entry<String, Object> entry) {
+        Col column = new Col(entry.getKey(), anyColumn.getFieldName());
+        column.setType(entry.getValue() == null ? String.class : entry.getValue().getClass());
+        column.setAnyColumn(true);
+        if (anyColumn.getConverter() != NoConverterClass.class) {
+            column.setConverter(anyColumn.getConverter());
+        }
+        return column;
+    }
+
     private void addColumns(Set<Col> columnsToAdd, boolean append) {
         int i = (headerRow == null || headerRow.getLastCellNum() == -1) ? 0 : headerRow.getLastCellNum();
         for (Col column : columnsToAdd) {
             if (append && columns.contains(column))
                 continue;
             if (writeHeader) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellType(Cell.CELL_TYPE_STRING);
-                cell.setCellStyle(CellStylesBank.get(sheet.getNativeSheet().getWorkbook()).getHeaderStyle());
-                cell.setCellValue(column.getName());
+                writeHeaderCell(i, column.getName());
                 i++;
             }
             columns.add(column);
         }
     }
+
+    private void writeHeaderCell(int i, String name) {
+        Cell cell = headerRow.createCell(i);
+        cell.setCellType(Cell.CELL_TYPE_STRING);
+        cell.setCellStyle(styles.getHeaderStyle());
+        cell.setCellValue(name);
+        if (widthEstimator != null) widthEstimator.measureHeader(i, name);
+    }
+
+    /**
+     * Writes the values of a single column, compiled once per write: the
+     * field accessor, converter, cell style and cell encoder of the column are
+     * resolved up front so that writing a cell is a plain sequence of calls.
+     */
+    private class ColumnWriter {
+
+        private final int index;
+        private final String dataFormat;
+        private final FieldAccessor accessor;
+        private final String anyColumnName;
+        private final Supplier<ColumnValueConverter<?, Object>> converter;
+        private final CellStyle style;
+        private final CellStyle blankStyle;
+        private final CellStyle dateStyle;
+        private final CellEncoder encoder;
+
+        @SuppressWarnings("unchecked")
+        ColumnWriter(Col col, int index) {
+            this.index = index;
+            dataFormat = col.getDataFormat();
+            accessor = fieldsMapper.getColumnAccessor(col.getFieldName());
+            anyColumnName = col.isAnyColumn() ? col.getName() : null;
+            converter = col.getConverter() == null ? null : (Supplier) ConverterRegistry.supplierOf(col.getConverter());
+            if (col.getDataFormat() != null) {
+                style = styles.getCustomDataFormatStyle(col.getDataFormat());
+            } else if (col.getType() == Date.class) {
+                style = styles.getDateStyle();
+            } else {
+                style = styles.getNormalStyle();
+            }
+            blankStyle = styles.getNormalStyle();
+            // columns declared without a type are encoded by value type
+            dateStyle = col.getType() == null ? styles.getDateStyle() : null;
+            encoder = col.getType() == null ? null : CellEncoder.of(col.getType());
+        }
+
+        boolean isAnyColumn() {
+            return anyColumnName != null;
+        }
+
+        @SuppressWarnings("unchecked")
+        void write(Cell cell, T t, boolean measure) {
+            Object fieldValueObj = accessor.get(t);
+            if (anyColumnName != null && fieldValueObj != null) {
+                fieldValueObj = ((Map<String, Object>) fieldValueObj).get(anyColumnName);
+            }
+            writeValue(cell, fieldValueObj, measure);
+        }
+
+        void writeValue(Cell cell, Object fieldValueObj, boolean measure) {
+            if (fieldValueObj == null) {
+                cell.setCellStyle(blankStyle);
+                cell.setCellType(Cell.CELL_TYPE_BLANK);
+                return;
+            }
+            if (converter != null) {
+                fieldValueObj = converter.get().serialize(fieldValueObj);
+            }
+            if (encoder != null) {
+                cell.setCellStyle(style);
+                encoder.encode(cell, fieldValueObj);
+            } else {
+                cell.setCellStyle(fieldValueObj instanceof Date && dataFormat == null ? dateStyle : style);
+                CellEncoder.of(fieldValueObj.getClass()).encode(cell, fieldValueObj);
+            }
+            if (measure) widthEstimator.measure(index, fieldValueObj, dataFormat);
+        }
+    }
 }
@@ -0,0 +1,93 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.writer;
+
+import org.apache.poi.ss.usermodel.Cell;
+
+import java.util.Date;
+
+import static com.ebay.xcelite.column.ColumnsIdentifier.*;
+
+/**
+ * Writes a non null value into a cell as the cell type matching the value
+ * type. Encoders are resolved once per type, so writing a value involves no
+ * type checks beyond the one setCellValue call it needs.
+ *
+ * @since 1.0.6
+ */
+abstract class CellEncoder {
+
+    private static final CellEncoder DATE = new CellEncoder() {
+        @Override
+        void encode(Cell cell, Object value) {
+            cell.setCellValue((Date) value);
+        }
+    };
+
+    private static final CellEncoder BOOLEAN = new CellEncoder() {
+        @Override
+        void encode(Cell cell, Object value) {
+            cell.setCellValue((Boolean) value);
+        }
+    };
+
+    private static final CellEncoder NUMERIC = new CellEncoder() {
+        @Override
+        void encode(Cell cell, Object value) {
+            // floats are widened through their text so 0.1f is written as 0.1
+            if (value instanceof Number && !(value instanceof Float)) {
+                cell.setCellValue(((Number) value).doubleValue());
+            } else {
+                cell.setCellValue(Double.parseDouble(value.toString()));
+            }
+        }
+    };
+
+    private static final CellEncoder STRING = new CellEncoder() {
+        @Override
+        void encode(Cell cell, Object value) {
+            cell.setCellValue(value.toString());
+        }
+    };
+
+    private static final ClassValue<CellEncoder> ENCODERS = new ClassValue<CellEncoder>() {
+        @Override
+        protected CellEncoder computeValue(Class<?> type) {
+            if (isDateByFieldType(type)) return DATE;
+            if (isBooleanByFieldType(type)) return BOOLEAN;
+            if (isNumericByFieldType(type)) return NUMERIC;
+            return STRING;
+        }
+    };
+
+    /**
+     * Writes the value into the cell.
+     *
+     * @param cell  the cell to write to
+     * @param value a non null value
+     */
+    abstract void encode(Cell cell, Object value);
+
+    /**
+     * Gets the encoder of values of the specified type.
+     *
+     * @param type the field or value type
+     * @return the encoder
+     */
+    static CellEncoder of(Class<?> type) {
+        return ENCODERS.get(type);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.writer;
+
+/**
+ * How {@link BeanSheetWriter} sizes the columns it wrote.
+ *
+ * @since 1.0.6
+ */
+public enum ColumnSizing {
+
+    /**
+     * Columns are not sized.
+     */
+    NONE,
+
+    /**
+     * Each column is sized by POI to fit its content exactly, which measures
+     * every cell of the sheet with font metrics once writing is done. Falls
+     * back to {@link #ESTIMATE} for streaming sheets, whose rows are no
+     * longer available at that point.
+     */
+    EXACT,
+
+    /**
+     * Each column is sized from the character count of the values written to
+     * it, tracked while writing. Much faster than {@link #EXACT} on large
+     * sheets, at the cost of being approximate for proportional fonts.
+     */
+    ESTIMATE
+}
@@ -0,0 +1,140 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.writer;
+
+import org.apache.poi.ss.usermodel.Sheet;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Estimates column widths from the values written to the columns. Tracks the
+ * widest value of every column, in characters, as cells are written, and
+ * applies the widths to the sheet in one pass at the end.
+ *
+ * @since 1.0.6
+ */
+final class ColumnWidthEstimator {
+
+    /**
+     * Maximal column width allowed by Excel, in characters.
+     */
+    private static final int MAX_WIDTH = 255;
+
+    private static final int PADDING = 2;
+
+    /**
+     * Width of a date in the default date format, e.g. "Thu Jan 01 00:00:00 1970".
+     */
+    private static final int DATE_WIDTH = 24;
+
+    private final int sampleRows;
+    private int rows;
+    private int[] widths = new int[16];
+
+    /**
+     * @param sampleRows the number of data rows to measure, 0 to measure all
+     */
+    ColumnWidthEstimator(int sampleRows) {
+        this.sampleRows = sampleRows;
+    }
+
+    /**
+     * Whether values of the current row should be measured.
+     */
+    boolean isSampling() {
+        return sampleRows == 0 || rows < sampleRows;
+    }
+
+    /**
+     * Moves on to the next data row.
+     */
+    void nextRow() {
+        rows++;
+    }
+
+    /**
+     * Measures a header cell. Header cells are measured regardless of the
+     * sample size.
+     */
+    void measureHeader(int column, String name) {
+        measure(column, widthOf(name));
+    }
+
+    /**
+     * Measures a value written to a cell.
+     *
+     * @param column     the column index
+     * @param value      the value as written to the cell, not null
+     * @param dataFormat the column's data format, may be null
+     */
+    void measure(int column, Object value, String dataFormat) {
+        int width;
+        if (value instanceof Date || (dataFormat != null && value instanceof Number)) {
+            width = dataFormat != null ? dataFormat.length() : DATE_WIDTH;
+        } else {
+            width = widthOf(value.toString());
+        }
+        measure(column, width);
+    }
+
+    /**
+     * Sets the estimated width of every measured column.
+     */
+    void apply(Sheet sheet) {
+        for (int i = 0; i < widths.length; i++) {
+            if (widths[i] == 0) continue;
+            sheet.setColumnWidth(i, Math.min(widths[i] + PADDING, MAX_WIDTH) * 256);
+        }
+    }
+
+    private void measure(int column, int width) {
+        if (column >= widths.length) {
+            widths = Arrays.copyOf(widths, Math.max(widths.length * 2, column + 1));
+        }
+        if (width > widths[column]) {
+            widths[column] = width;
+        }
+    }
+
+    /**
+     * Width of the text in characters, counting the widest line and full width
+     * (CJK) characters as two.
+     */
+    private static int widthOf(String text) {
+        int max = 0;
+        int line = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                line = 0;
+                continue;
+            }
+            line += isWide(c) ? 2 : 1;
+            if (line > max) max = line;
+        }
+        return max;
+    }
+
+    private static boolean isWide(char c) {
+        return (c >= '\u1100' && c <= '\u115f')
+                || (c >= '\u2e80' && c <= '\ua4cf')
+                || (c >= '\uac00' && c <= '\ud7a3')
+                || (c >= '\uf900' && c <= '\ufaff')
+                || (c >= '\uff00' && c <= '\uff60')
+                || (c >= '\uffe0' && c <= '\uffe6');
+    }
+}
@@ -0,0 +1,61 @@
+/*
+  Copyright [2013-2014] eBay Software Foundation
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.ebay.xcelite.writer;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * Writes to a sheet in batches, as data becomes available. A session starts
+ * writing after the last row the sheet already holds. The row position,
+ * header and resolved column styles are kept between batches, and column
+ * sizing runs once when the session is closed.
+ * <pre>
+ * SheetWriteSession&lt;User&gt; session = sheet.getBeanWriter(User.class).openSession();
+ * try {
+ *   session.append(firstBatch);
+ *   session.append(secondBatch);
+ * } finally {
+ *   session.close();
+ * }
+ * </pre>
+ *
+ * @since 1.0.6
+ */
+public interface SheetWriteSession<T> extends Closeable {
+
+    /**
+     * Writes the elements after the rows written so far.
+     *
+     * @param data the elements to write
+     */
+    void append(Iterable<T> data);
+
+    /**
+     * Writes the elements after the rows written so far, as they are pulled
+     * from the iterator.
+     *
+     * @param data the elements to write
+     */
+    void append(Iterator<T> data);
+
+    /**
+     * Finishes writing, which sizes the columns. Does nothing if the session
+     * is already closed.
+     */
+    @Override
+    void close();
+}
@@ -18,11 +18,51 @@ package com.ebay.xcelite.writer;
 import com.ebay.xcelite.sheet.XceliteSheet;
 
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 public interface SheetWriter<T> {
 
     void write(Collection<T> data);
 
+    /**
+     * Writes the elements as they are pulled from the iterator, without
+     * holding them all in memory. With a streaming workbook only a window of
+     * rows is kept in memory, so data can go from a database cursor to the
+     * sheet in constant memory.
+     *
+     * @param data the elements to write
+     * @since 1.0.6
+     */
+    void write(Iterator<T> data);
+
+    /**
+     * Writes the elements of the iterable in a single iteration, see
+     * {@link #write(Iterator)}.
+     *
+     * @param data the elements to write
+     * @since 1.0.6
+     */
+    void write(Iterable<T> data);
+
+    /**
+     * Writes the elements of the stream as they are pulled from it, see
+     * {@link #write(Iterator)}. The stream is not closed.
+     *
+     * @param data the elements to write
+     * @since 1.0.6
+     */
+    void write(Stream<T> data);
+
+    /**
+     * Opens a session which writes the data in batches, see
+     * {@link SheetWriteSession}.
+     *
+     * @return the write session
+     * @since 1.0.6
+     */
+    SheetWriteSession<T> openSession();
+
     void generateHeaderRow(boolean generateHeaderRow);
 
     XceliteSheet getSheet();
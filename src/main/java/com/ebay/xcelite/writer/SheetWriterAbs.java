@@ -18,9 +18,8 @@ package com.ebay.xcelite.writer;
 import com.ebay.xcelite.sheet.XceliteSheet;
 import org.apache.poi.ss.usermodel.Cell;
 
-import java.util.Date;
-
-import static com.ebay.xcelite.column.ColumnsIdentifier.*;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 /**
  * Class description...
@@ -38,22 +37,39 @@ public abstract class SheetWriterAbs<T> implements SheetWriter<T> {
         this.writeHeader = writeHeader;
     }
 
+    @Override
+    public SheetWriteSession<T> openSession() {
+        startSession();
+        return new Session();
+    }
+
+    /**
+     * Prepares the sheet for the rows of a new write session.
+     */
+    protected abstract void startSession();
+
+    /**
+     * Writes the rows of a batch of the current write session.
+     */
+    protected abstract void appendRows(Iterator<T> data);
+
+    /**
+     * Finishes the current write session.
+     */
+    protected abstract void finishSession();
+
+    @Override
+    public void write(Iterable<T> data) {
+        write(data.iterator());
+    }
+
+    @Override
+    public void write(Stream<T> data) {
+        write(data.iterator());
+    }
+
     protected void writeToCell(Cell cell, Object fieldValueObj, Class<?> dataType) {
-        Class<?> type = fieldValueObj.getClass();
-        if (dataType != null) {
-            type = dataType;
-        }
-        if (isDateByFieldType(type)) {
-            cell.setCellValue((Date) fieldValueObj);
-        } else if (isBooleanByFieldType(type)) {
-            cell.setCellValue((Boolean) fieldValueObj);
-        } else if (isNumericByFieldType(type)) {
-            cell.setCellType(Cell.CELL_TYPE_NUMERIC);
-            cell.setCellValue(Double.valueOf(fieldValueObj.toString()));
-        } else {
-            cell.setCellType(Cell.CELL_TYPE_STRING);
-            cell.setCellValue(fieldValueObj.toString());
-        }
+        CellEncoder.of(dataType != null ? dataType : fieldValueObj.getClass()).encode(cell, fieldValueObj);
     }
 
     @Override
@@ -65,4 +81,29 @@ public abstract class SheetWriterAbs<T> implements SheetWriter<T> {
     public XceliteSheet getSheet() {
         return sheet;
     }
+
+    private class Session implements SheetWriteSession<T> {
+
+        private boolean closed;
+
+        @Override
+        public void append(Iterable<T> data) {
+            append(data.iterator());
+        }
+
+        @Override
+        public void append(Iterator<T> data) {
+            if (closed) {
+                throw new IllegalStateException("Write session is closed");
+            }
+            appendRows(data);
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            finishSession();
+        }
+    }
 }
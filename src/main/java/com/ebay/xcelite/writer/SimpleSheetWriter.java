@@ -18,9 +18,12 @@ package com.ebay.xcelite.writer;
 import com.ebay.xcelite.sheet.XceliteSheet;
 import com.ebay.xcelite.styles.CellStylesBank;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
 
 import java.util.Collection;
+import java.util.Iterator;
 
 /**
  * Class description...
@@ -30,25 +33,62 @@ import java.util.Collection;
  */
 public class SimpleSheetWriter extends SheetWriterAbs<Collection<Object>> {
 
+    private CellStyle headerStyle;
+    private int headerRowIndex;
+    private int rowIndex;
+
     public SimpleSheetWriter(XceliteSheet sheet) {
         super(sheet, false);
     }
 
     @Override
     public void write(Collection<Collection<Object>> data) {
-        int i = 0;
-        for (Collection<Object> row : data) {
-            Row excelRow = sheet.getNativeSheet().createRow(i);
+        write(data.iterator());
+    }
+
+    @Override
+    public void write(Iterator<Collection<Object>> data) {
+        start(0);
+        appendRows(data);
+    }
+
+    /**
+     * Starts writing after the last row of the sheet.
+     */
+    @Override
+    protected void startSession() {
+        Sheet nativeSheet = sheet.getNativeSheet();
+        start(nativeSheet.getPhysicalNumberOfRows() == 0 ? 0 : nativeSheet.getLastRowNum() + 1);
+    }
+
+    @Override
+    protected void appendRows(Iterator<Collection<Object>> data) {
+        Sheet nativeSheet = sheet.getNativeSheet();
+        while (data.hasNext()) {
+            Collection<Object> row = data.next();
+            Row excelRow = nativeSheet.createRow(rowIndex);
             int j = 0;
             for (Object column : row) {
                 Cell cell = excelRow.createCell(j);
-                if (writeHeader && i == 0) {
-                    cell.setCellStyle(CellStylesBank.get(sheet.getNativeSheet().getWorkbook()).getHeaderStyle());
+                if (writeHeader && rowIndex == headerRowIndex) {
+                    cell.setCellStyle(headerStyle);
                 }
                 writeToCell(cell, column, null);
                 ++j;
             }
-            ++i;
+            ++rowIndex;
+        }
+    }
+
+    @Override
+    protected void finishSession() {
+    }
+
+    private void start(int firstRowIndex) {
+        if (headerStyle == null) {
+            headerStyle = CellStylesBank.get(sheet.getNativeSheet().getWorkbook()).getHeaderStyle();
         }
+        headerRowIndex = firstRowIndex;
+        rowIndex = firstRowIndex;
     }
 }